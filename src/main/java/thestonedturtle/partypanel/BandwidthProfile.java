@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import thestonedturtle.partypanel.data.StateDigest;
+
+/**
+ * Controls which sections of their state the local player publishes to the party and how often.
+ * Hitpoints, prayer & everything shown in the banner are always published.
+ */
+@Getter
+@AllArgsConstructor
+public enum BandwidthProfile
+{
+	RAID("Raid", StateDigest.ALL_SECTIONS, 1),
+	SKILLING("Skilling", 1 << StateDigest.INVENTORY | 1 << StateDigest.STATS | 1 << StateDigest.MISC, 2),
+	SOCIAL("Social", 1 << StateDigest.EQUIPMENT | 1 << StateDigest.STATS | 1 << StateDigest.MISC, 3),
+	MINIMAL("Minimal", 1 << StateDigest.MISC, 4);
+
+	private final String name;
+	private final int sections; // Published sections, bit-packed by StateDigest section
+	private final int sendPeriodScale; // Multiplies the ticks between sends of larger batches
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
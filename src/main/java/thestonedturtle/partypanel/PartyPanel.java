@@ -47,6 +47,7 @@ import lombok.Getter;
 import net.runelite.client.ui.DynamicGridLayout;
 import net.runelite.client.ui.PluginPanel;
 import thestonedturtle.partypanel.data.PartyPlayer;
+import thestonedturtle.partypanel.data.PlayerChanges;
 import thestonedturtle.partypanel.ui.ControlsPanel;
 import thestonedturtle.partypanel.ui.PlayerPanel;
 
@@ -154,24 +155,25 @@ class PartyPanel extends PluginPanel
 
 	void drawPlayerPanel(PartyPlayer player)
 	{
-		drawPlayerPanel(player, false);
+		drawPlayerPanel(player, PlayerChanges.ALL & ~PlayerChanges.BANNER);
 	}
 
-	void drawPlayerPanel(PartyPlayer player, boolean hasBreakingBannerChange)
+	void drawPlayerPanel(PartyPlayer player, int changes)
 	{
 		PlayerPanel panel = playerPanelMap.get(player.getMember().getMemberId());
 		if (panel != null)
 		{
-			panel.updatePlayerData(player, true);
+			panel.updatePlayerData(player, changes);
 			return;
 		}
 
-		panel = new PlayerPanel(player, plugin.getConfig(), plugin.spriteManager, plugin.itemManager);
+		panel = new PlayerPanel(player, plugin.getConfig(), plugin.spriteManager, plugin.itemManager, () -> plugin.announceInterest(false));
 		playerPanelMap.put(player.getMember().getMemberId(), panel);
-		panel.updatePlayerData(player, hasBreakingBannerChange);
+		panel.updatePlayerData(player, changes);
 		basePanel.add(panel);
 		basePanel.revalidate();
 		basePanel.repaint();
+		plugin.announceInterest(false);
 	}
 
 	void removePartyPlayer(final PartyPlayer player)
@@ -183,6 +185,7 @@ class PartyPanel extends PluginPanel
 			{
 				basePanel.remove(p);
 				renderSidebar();
+				plugin.announceInterest(false);
 			}
 		}
 	}
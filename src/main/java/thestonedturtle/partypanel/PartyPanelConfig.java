@@ -3,6 +3,9 @@ package thestonedturtle.partypanel;
 import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
+import net.runelite.client.config.ConfigSection;
+import net.runelite.client.config.Range;
+import net.runelite.client.config.Units;
 
 @ConfigGroup("partypanel")
 public interface PartyPanelConfig extends Config
@@ -84,6 +87,97 @@ public interface PartyPanelConfig extends Config
 		return false;
 	}
 
+	@ConfigItem(
+			keyName = "bandwidthBudget",
+			name = "Party Bandwidth",
+			description = "<html>Bytes per second shared by the entire party, each member sends at most their share<br/>Larger changes are held back and combined until there is enough budget</html>",
+			position = 6
+	)
+	@Range(min = 1000, max = 50000)
+	@Units(" B/s")
+	default int bandwidthBudget()
+	{
+		return 4000;
+	}
+
+	@ConfigItem(
+			keyName = "bandwidthProfile",
+			name = "Bandwidth Profile",
+			description = "<html>Controls what you share with the party and how often<br/>"
+					+ "Raid: everything, as often as the bandwidth allows<br/>"
+					+ "Skilling: inventory, skills and the banner, less often<br/>"
+					+ "Social: equipment, skills and the banner, less often<br/>"
+					+ "Minimal: only the banner, including hitpoints and prayer</html>",
+			position = 7
+	)
+	default BandwidthProfile bandwidthProfile()
+	{
+		return BandwidthProfile.RAID;
+	}
+
+	@ConfigSection(
+			name = "Update Precision",
+			description = "Controls how precisely noisy values are sent to the party, 0 picks a value based on party size",
+			position = 8,
+			closedByDefault = true
+	)
+	String precisionSection = "precisionSection";
+
+	@ConfigItem(
+			keyName = "runEnergyStep",
+			name = "Run Energy Step",
+			description = "<html>Only send run energy once it has changed by this much<br/>0 picks a step based on party size</html>",
+			position = 9,
+			section = precisionSection
+	)
+	@Range(max = 50)
+	@Units(Units.PERCENT)
+	default int runEnergyStep()
+	{
+		return 0;
+	}
+
+	@ConfigItem(
+			keyName = "specialAttackStep",
+			name = "Special Attack Step",
+			description = "<html>Only send special attack energy once it has changed by this much<br/>0 picks a step based on party size</html>",
+			position = 10,
+			section = precisionSection
+	)
+	@Range(max = 50)
+	@Units(Units.PERCENT)
+	default int specialAttackStep()
+	{
+		return 0;
+	}
+
+	@ConfigItem(
+			keyName = "staminaStep",
+			name = "Stamina Duration Step",
+			description = "<html>Only send the remaining stamina duration once it has changed by this much<br/>Running out of stamina is always sent straight away<br/>0 picks a step based on party size</html>",
+			position = 11,
+			section = precisionSection
+	)
+	@Range(max = 50)
+	default int staminaStep()
+	{
+		return 0;
+	}
+
+	@ConfigItem(
+			keyName = "preciseInterval",
+			name = "Precise Interval",
+			description = "<html>Changes smaller than their step are still sent if this many ticks have passed since the value was last sent<br/>0 picks an interval based on party size</html>",
+			position = 12,
+			section = precisionSection
+	)
+	@Range(max = 100)
+	@Units(" ticks")
+	default int preciseInterval()
+	{
+		return 0;
+	}
+
 
 	@ConfigItem(
 			keyName = "previousPartyId",
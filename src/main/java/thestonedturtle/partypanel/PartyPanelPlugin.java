@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.inject.Provides;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Actor;
 import net.runelite.api.Client;
 import net.runelite.api.EnumComposition;
 import net.runelite.api.EnumID;
@@ -12,11 +13,16 @@ import net.runelite.api.Experience;
 import net.runelite.api.GameState;
 import net.runelite.api.Item;
 import net.runelite.api.ItemContainer;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
 import net.runelite.api.Prayer;
 import net.runelite.api.Skill;
+import net.runelite.api.Varbits;
 import net.runelite.api.annotations.Varbit;
+import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.HitsplatApplied;
 import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.StatChanged;
 import net.runelite.api.events.VarbitChanged;
@@ -33,9 +39,12 @@ import net.runelite.client.events.PartyMemberAvatar;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.ItemVariationMapping;
 import net.runelite.client.game.SpriteManager;
+import net.runelite.client.party.PartyMember;
 import net.runelite.client.party.PartyService;
 import net.runelite.client.party.WSClient;
+import net.runelite.client.party.events.UserJoin;
 import net.runelite.client.party.events.UserPart;
+import net.runelite.client.party.messages.PartyMemberMessage;
 import net.runelite.client.party.messages.UserSync;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
@@ -44,17 +53,30 @@ import net.runelite.client.ui.ClientToolbar;
 import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.util.ImageUtil;
-import org.apache.commons.lang3.ArrayUtils;
+import thestonedturtle.partypanel.data.DeadReckoning;
 import thestonedturtle.partypanel.data.GameItem;
 import thestonedturtle.partypanel.data.PartyPlayer;
-import thestonedturtle.partypanel.data.PrayerData;
+import thestonedturtle.partypanel.data.PlayerChanges;
 import thestonedturtle.partypanel.data.Prayers;
+import thestonedturtle.partypanel.data.StateDigest;
 import thestonedturtle.partypanel.data.Stats;
+import thestonedturtle.partypanel.data.events.ActivityTracker;
+import thestonedturtle.partypanel.data.events.Backoff;
+import thestonedturtle.partypanel.data.events.ChangeLanes;
+import thestonedturtle.partypanel.data.events.ItemDeltaEncoder;
+import thestonedturtle.partypanel.data.events.MiscPolicy;
+import thestonedturtle.partypanel.data.events.PartyBatchBuilder;
 import thestonedturtle.partypanel.data.events.PartyBatchedChange;
+import thestonedturtle.partypanel.data.events.PartyCapabilities;
+import thestonedturtle.partypanel.data.events.PartyCompactChange;
+import thestonedturtle.partypanel.data.events.PartyInterest;
 import thestonedturtle.partypanel.data.events.PartyMiscChange;
-import thestonedturtle.partypanel.data.events.PartyStatChange;
+import thestonedturtle.partypanel.data.events.PartySectionRequest;
+import thestonedturtle.partypanel.data.events.PartyStateDigest;
+import thestonedturtle.partypanel.data.events.TokenBucket;
+import thestonedturtle.partypanel.data.events.TransmittedState;
+import thestonedturtle.partypanel.data.events.ViewerInterest;
 import thestonedturtle.partypanel.ui.PlayerPanel;
-import thestonedturtle.partypanel.ui.prayer.PrayerSprites;
 
 import javax.inject.Inject;
 import javax.swing.JOptionPane;
@@ -63,13 +85,19 @@ import java.awt.image.BufferedImage;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @PluginDescriptor(
@@ -78,6 +106,36 @@ import java.util.Set;
 public class PartyPanelPlugin extends Plugin
 {
 	private static final BufferedImage ICON = ImageUtil.loadImageResource(PartyPanelPlugin.class, "icon.png");
+	// Batches at most this size are sent straight away when sending often, larger ones are only sent on the local members send phase
+	private static final int SMALL_BATCH_SIZE = 48;
+	// Longest send period at which small batches are still sent straight away
+	private static final int SMALL_BATCH_PERIOD = 2;
+	private static final int MAX_RUN_ENERGY = 100;
+	// How far members' extrapolated run energy & prayer points may be from the actual values before they are resent
+	private static final int PREDICTION_TOLERANCE = 1;
+	// Each member gets at least this many bytes per second regardless of party size
+	private static final int MIN_MEMBER_BUDGET = 150;
+	// Seconds of budget that can be saved up for bursts
+	private static final int BUDGET_BURST_SECONDS = 2;
+	private static final double SECONDS_PER_TICK = 0.6;
+	// How often, in ticks, a digest of the local state is broadcast so members can resync anything which drifted
+	private static final int DIGEST_INTERVAL = 50;
+	// Minimum ticks between section requests to the same member, gives the previous resync time to arrive
+	private static final int SECTION_REQUEST_COOLDOWN = 25;
+	// Quest & level requirements can change which prayers are available without a varbit we listen for changing
+	private static final int PRAYER_REFRESH_INTERVAL = 100;
+	// Resyncs requested within this window are collapsed into a single snapshot, sent at a random point in it
+	private static final long SYNC_DEBOUNCE_MILLIS = 1000;
+	// Snapshots which couldn't be sent as the connection was down are retried with exponential backoff
+	private static final long SYNC_BACKOFF_MAX_MILLIS = 30000;
+	private static final long SYNC_BACKOFF_RESET_MILLIS = 60000;
+	// The party service only reconnects when something is sent, so while disconnected a small message is sent with
+	// exponential backoff to bring it back instead of waiting for the user to do something which sends one
+	private static final long RECONNECT_BACKOFF_BASE_MILLIS = 2000;
+	private static final long RECONNECT_BACKOFF_MAX_MILLIS = 30000;
+	private static final long RECONNECT_BACKOFF_RESET_MILLIS = 60000;
+	// Skills shown in the banner, always published regardless of the bandwidth profile
+	private static final long BANNER_SKILLS = 1L << Skill.HITPOINTS.ordinal() | 1L << Skill.PRAYER.ordinal();
 	private static final int[] RUNEPOUCH_AMOUNT_VARBITS = {
 			VarbitID.RUNE_POUCH_QUANTITY_1, VarbitID.RUNE_POUCH_QUANTITY_2, VarbitID.RUNE_POUCH_QUANTITY_3,
 			VarbitID.RUNE_POUCH_QUANTITY_4, VarbitID.RUNE_POUCH_QUANTITY_5, VarbitID.RUNE_POUCH_QUANTITY_6,
@@ -87,6 +145,51 @@ public class PartyPanelPlugin extends Plugin
 			VarbitID.RUNE_POUCH_TYPE_1, VarbitID.RUNE_POUCH_TYPE_2, VarbitID.RUNE_POUCH_TYPE_3,
 			VarbitID.RUNE_POUCH_TYPE_4, VarbitID.RUNE_POUCH_TYPE_5, VarbitID.RUNE_POUCH_TYPE_6,
 	};
+
+	// onVarbitChanged handlers, the rune pouch handler also stores the slot in the upper bits
+	private static final int VAR_NONE = 0;
+	private static final int VAR_SPECIAL = 1;
+	private static final int VAR_STAMINA = 2;
+	private static final int VAR_POISON = 3;
+	private static final int VAR_DISEASE = 4;
+	private static final int VAR_RUNE_POUCH = 5;
+	private static final int VAR_QUIVER = 6;
+	private static final int VAR_SPELLBOOK = 7;
+	private static final int VAR_PRAYER = 8;
+	private static final int VAR_HANDLER_MASK = 0xF;
+	private static final int VAR_SLOT_SHIFT = 4;
+	// Handler for each varbit & varp id, indexed by id
+	private static final byte[] VARBIT_HANDLERS;
+	private static final byte[] VARP_HANDLERS;
+
+	static
+	{
+		byte[] varbits = new byte[0];
+		varbits = withVarHandler(varbits, VarbitID.STAMINA_DURATION, VAR_STAMINA);
+		varbits = withVarHandler(varbits, VarbitID.SPELLBOOK, VAR_SPELLBOOK);
+		for (int slot = 0; slot < RUNEPOUCH_AMOUNT_VARBITS.length; slot++)
+		{
+			varbits = withVarHandler(varbits, RUNEPOUCH_AMOUNT_VARBITS[slot], VAR_RUNE_POUCH | slot << VAR_SLOT_SHIFT);
+			varbits = withVarHandler(varbits, RUNEPOUCH_RUNE_VARBITS[slot], VAR_RUNE_POUCH | slot << VAR_SLOT_SHIFT);
+		}
+		// Varbits which change whether a prayer is enabled or unlocked
+		for (final Prayer p : Prayer.values())
+		{
+			varbits = withVarHandler(varbits, p.getVarbit(), VAR_PRAYER);
+		}
+		varbits = withVarHandler(varbits, Varbits.PRAYER_DEADEYE_UNLOCKED, VAR_PRAYER);
+		varbits = withVarHandler(varbits, Varbits.PRAYER_MYSTIC_VIGOUR_UNLOCKED, VAR_PRAYER);
+		VARBIT_HANDLERS = varbits;
+
+		byte[] varps = new byte[0];
+		varps = withVarHandler(varps, VarPlayerID.SA_ENERGY, VAR_SPECIAL);
+		varps = withVarHandler(varps, VarPlayerID.POISON, VAR_POISON);
+		varps = withVarHandler(varps, VarPlayerID.DISEASE, VAR_DISEASE);
+		varps = withVarHandler(varps, VarPlayerID.DIZANAS_QUIVER_TEMP_AMMO, VAR_QUIVER);
+		varps = withVarHandler(varps, VarPlayerID.DIZANAS_QUIVER_TEMP_AMMO_AMOUNT, VAR_QUIVER);
+		VARP_HANDLERS = varps;
+	}
+
 	public static final int[] RUNEPOUCH_ITEM_IDS = {
 
 			ItemID.BH_RUNE_POUCH, ItemID.BH_RUNE_POUCH_TROUVER, ItemID.DIVINE_RUNE_POUCH, ItemID.DIVINE_RUNE_POUCH_TROUVER,
@@ -125,6 +228,9 @@ public class PartyPanelPlugin extends Plugin
 	@Inject
 	private OverlayManager overlayManager;
 
+	@Inject
+	private ScheduledExecutorService executor;
+
 	@Inject
 	private PartyReminderOverlay partyReminderOverlay;
 
@@ -146,8 +252,88 @@ public class PartyPanelPlugin extends Plugin
 	private PartyPanel panel;
 	private Instant lastLogout;
 
-	// All events should be deferred to the next game tick
-	private PartyBatchedChange currentChange = new PartyBatchedChange();
+	// All events should be deferred to the next game tick, vitals are sent every tick instead of waiting for the bandwidth budget
+	private final ChangeLanes localChanges = new ChangeLanes();
+	// Changes which wait for the bandwidth budget
+	private final PartyBatchBuilder currentChange = localChanges.getBulk();
+	// The local players entire state, updated alongside the pending changes so resyncs don't need to rebuild it
+	private final PartyBatchBuilder snapshot = new PartyBatchBuilder();
+	// Last full snapshot sent, resent as is while nothing has changed or been sent since
+	private PartyMemberMessage lastSnapshot;
+	private int lastSnapshotVersion;
+	private int lastSnapshotSequence;
+	private int lastSnapshotFeatures;
+	private int lastSnapshotSections;
+	// Snapshot waiting to be sent in response to UserSyncs
+	private volatile ScheduledFuture<?> scheduledSnapshot;
+	// Whether the party connection was open on the previous game tick
+	private boolean wasConnected = true;
+	private final Backoff syncBackoff = new Backoff(SYNC_DEBOUNCE_MILLIS, SYNC_BACKOFF_MAX_MILLIS, SYNC_BACKOFF_RESET_MILLIS);
+	private final Backoff reconnectBackoff = new Backoff(RECONNECT_BACKOFF_BASE_MILLIS, RECONNECT_BACKOFF_MAX_MILLIS, RECONNECT_BACKOFF_RESET_MILLIS);
+	private long nextReconnectAttempt;
+	// Pending changes are only sent once there is enough of the local members share of the bandwidth budget
+	private final TokenBucket sendBudget = new TokenBucket();
+	// Changes are sent more often while in combat and less often while idle
+	private final ActivityTracker activityTracker = new ActivityTracker();
+	private WorldPoint lastLocation;
+	// Holds back small changes to noisy values such as run energy
+	private final MiscPolicy miscPolicy = new MiscPolicy();
+
+	// Only the slots which changed since the last sent container are sent
+	private final ItemDeltaEncoder inventoryDeltas = new ItemDeltaEncoder();
+	private final ItemDeltaEncoder equipmentDeltas = new ItemDeltaEncoder();
+	// Everything else sent, so values which haven't changed since they were last sent can be dropped
+	private final TransmittedState transmitted = new TransmittedState();
+	// What members are extrapolating the local player's run energy & prayer points to from the values sent
+	private final DeadReckoning runEnergyPrediction = new DeadReckoning(DeadReckoning.RUN_ENERGY_MAX_RATE);
+	private final DeadReckoning prayerPrediction = new DeadReckoning(DeadReckoning.PRAYER_MAX_RATE);
+	// Members whose extrapolated values changed, drawn together by a single EDT task instead of one per member
+	private final List<PartyPlayer> predictionDraws = new ArrayList<>();
+	private final Runnable drawPredictions = this::drawPredictions;
+
+	// Features announced by each member, used to send the most compact encoding every member understands
+	// Announcements arrive on the websocket thread but are read on the client thread
+	private final Map<Long, Integer> memberFeatures = new ConcurrentHashMap<>();
+	private volatile int partyFeatures = PartyCapabilities.SUPPORTED;
+	// Features announced by at least one member
+	private volatile int anyMemberFeatures;
+
+	// Config read on the game tick, cached as reading config on every tick allocates
+	private volatile int bandwidthBudget;
+	private volatile BandwidthProfile bandwidthProfile = BandwidthProfile.RAID;
+	// Party size the misc policy was last set up for, -1 once the config changed
+	private volatile int miscPolicyPartySize = -1;
+
+	// Sequence number of the last batch sent by the local player
+	private int sequence;
+	// Sequence number of the last batch received from each member, anything older has already been superseded
+	// Forgotten when the member joins or syncs, as their sequence restarts when their plugin does
+	private final Map<Long, Integer> memberSequences = new ConcurrentHashMap<>();
+	// Batches waiting to be applied on the client thread, batches received in the meantime are merged into these
+	private final Map<Long, PartyBatchedChange> pendingChanges = new HashMap<>();
+
+	private int lastDigestTick;
+	// Tick each member was last asked to resend sections of their state
+	private final Map<Long, Integer> sectionRequestTicks = new ConcurrentHashMap<>();
+	// Sections other members asked the local player to resend, sent on the next game tick. Requests arrive on the websocket thread
+	private final AtomicInteger requestedSections = new AtomicInteger();
+
+	// Sections each member displays for the local player
+	private final ViewerInterest viewerInterest = new ViewerInterest();
+	// Sections the bandwidth profile publishes, bit-packed by StateDigest section
+	private int publishedSections = StateDigest.ALL_SECTIONS;
+	// Sections with changes which were dropped as they weren't published or nobody was displaying them, resent in full once they are
+	private int staleSections;
+	// Last sections announced as displayed by the local player, only updated on the EDT
+	private volatile PartyInterest displayedInterest = new PartyInterest();
+
+	// Prayer states are only re-checked, which requires running a script per prayer, after something affecting them changes
+	private boolean prayersChanged;
+	private int lastPrayerRefreshTick;
+
+	// Rune pouch contents by slot, kept in sync by onVarbitChanged so only the slot that changed needs to be read
+	private final int[] runePouchSlots = new int[RUNEPOUCH_AMOUNT_VARBITS.length]; // Packed rune, 0 if empty
+	private final GameItem[] runePouchItems = new GameItem[RUNEPOUCH_AMOUNT_VARBITS.length];
 
 	@Override
 	protected void startUp() throws Exception
@@ -161,6 +347,11 @@ public class PartyPanelPlugin extends Plugin
 				.build();
 
 		wsClient.registerMessage(PartyBatchedChange.class);
+		wsClient.registerMessage(PartyCompactChange.class);
+		wsClient.registerMessage(PartyCapabilities.class);
+		wsClient.registerMessage(PartyStateDigest.class);
+		wsClient.registerMessage(PartySectionRequest.class);
+		wsClient.registerMessage(PartyInterest.class);
 
 		if (isInParty() || config.alwaysShowIcon())
 		{
@@ -168,16 +359,26 @@ public class PartyPanelPlugin extends Plugin
 			addedButton = true;
 		}
 
+		clientThread.invokeLater(() ->
+		{
+			for (int slot = 0; slot < runePouchSlots.length; slot++)
+			{
+				updateRunePouchSlot(slot);
+			}
+		});
+
 		if (isInParty())
 		{
 			clientThread.invokeLater(() ->
 			{
-				myPlayer = new PartyPlayer(partyService.getLocalMember(), client, itemManager, clientThread);
+				resetLocalPlayer();
 				partyService.send(new UserSync());
-				partyService.send(partyPlayerAsBatchedChange());
+				sendSnapshot();
 			});
 		}
 
+		updateCachedConfig();
+		publishedSections = bandwidthProfile.getSections();
 		lastLogout = Instant.now();
 		overlayManager.add(partyReminderOverlay);
 	}
@@ -192,15 +393,55 @@ public class PartyPanelPlugin extends Plugin
 			cleanUserInfo.setE(new int[0]);
 			cleanUserInfo.setM(Collections.emptySet());
 			cleanUserInfo.setS(Collections.emptySet());
+			cleanUserInfo.setSm(0);
+			cleanUserInfo.setMm(0);
 			cleanUserInfo.setRp(null);
 			cleanUserInfo.setQ(new int[0]);
-			partyService.send(cleanUserInfo);
+			send(cleanUserInfo);
 		}
 		clientToolbar.removeNavigation(navButton);
 		addedButton = false;
 		partyMembers.clear();
 		wsClient.unregisterMessage(PartyBatchedChange.class);
-		currentChange = new PartyBatchedChange();
+		wsClient.unregisterMessage(PartyCompactChange.class);
+		wsClient.unregisterMessage(PartyCapabilities.class);
+		wsClient.unregisterMessage(PartyStateDigest.class);
+		wsClient.unregisterMessage(PartySectionRequest.class);
+		wsClient.unregisterMessage(PartyInterest.class);
+		localChanges.reset();
+		snapshot.reset();
+		lastSnapshot = null;
+		cancelScheduledSnapshot();
+		syncBackoff.reset();
+		reconnectBackoff.reset();
+		nextReconnectAttempt = 0;
+		wasConnected = true;
+		inventoryDeltas.reset(null);
+		equipmentDeltas.reset(null);
+		transmitted.reset();
+		GameItem.clearItemInfo();
+		runEnergyPrediction.reset();
+		prayerPrediction.reset();
+		sendBudget.reset();
+		activityTracker.reset();
+		lastLocation = null;
+		memberFeatures.clear();
+		partyFeatures = PartyCapabilities.SUPPORTED;
+		anyMemberFeatures = 0;
+		sequence = 0;
+		memberSequences.clear();
+		synchronized (pendingChanges)
+		{
+			pendingChanges.clear();
+		}
+		lastDigestTick = 0;
+		sectionRequestTicks.clear();
+		requestedSections.set(0);
+		viewerInterest.clear();
+		staleSections = 0;
+		displayedInterest = new PartyInterest();
+		prayersChanged = false;
+		lastPrayerRefreshTick = 0;
 		panel.getPlayerPanelMap().clear();
 		lastLogout = null;
 		overlayManager.remove(partyReminderOverlay);
@@ -228,6 +469,7 @@ public class PartyPanelPlugin extends Plugin
 			addedButton = false;
 		}
 		addedButton = config.alwaysShowIcon();
+		updateCachedConfig();
 
 		switch (c.getKey())
 		{
@@ -264,22 +506,22 @@ public class PartyPanelPlugin extends Plugin
 
 		if (myPlayer == null)
 		{
-			myPlayer = new PartyPlayer(partyService.getLocalMember(), client, itemManager, clientThread);
-			final PartyBatchedChange ce = partyPlayerAsBatchedChange();
-			partyService.send(ce);
+			resetLocalPlayer();
+			sendSnapshot();
 			return;
 		}
 
 		if (c.getGameState() == GameState.LOGGED_IN)
 		{
-			PartyMiscChange e = new PartyMiscChange(PartyMiscChange.PartyMisc.W, client.getWorld());
-			if (myPlayer.getWorld() == e.getV())
+			final int world = client.getWorld();
+			if (myPlayer.getWorld() == world)
 			{
 				return;
 			}
 
-			myPlayer.setWorld(e.getV());
-			currentChange.getM().add(e);
+			myPlayer.setWorld(world);
+			currentChange.addMisc(PartyMiscChange.PartyMisc.W, world);
+			snapshot.addMisc(PartyMiscChange.PartyMisc.W, world);
 		}
 
 		if (c.getGameState() == GameState.LOGIN_SCREEN)
@@ -290,10 +532,16 @@ public class PartyPanelPlugin extends Plugin
 			}
 
 			myPlayer.setWorld(0);
-			currentChange.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.W, 0));
+			currentChange.addMisc(PartyMiscChange.PartyMisc.W, 0);
+			snapshot.addMisc(PartyMiscChange.PartyMisc.W, 0);
+			localChanges.hold();
 
-			partyService.send(currentChange);
-			currentChange = new PartyBatchedChange();
+			// Otherwise they are sent once reconnected
+			if (wsClient.isOpen())
+			{
+				removeUnpublishedSections(getInterestedSections() & publishedSections);
+				sendChange(localChanges.poll(true));
+			}
 		}
 	}
 
@@ -316,6 +564,14 @@ public class PartyPanelPlugin extends Plugin
 			SwingUtilities.invokeLater(() -> panel.removePartyPlayer(removed));
 		}
 
+		memberSequences.remove(event.getMemberId());
+		sectionRequestTicks.remove(event.getMemberId());
+		viewerInterest.remove(event.getMemberId());
+
+		// Leaving members may have been the only ones holding back a more compact encoding
+		memberFeatures.remove(event.getMemberId());
+		updatePartyFeatures(-1, event.getMemberId());
+
 		if (addedButton && (!isInParty() || partyService.getMembers().isEmpty()) && !config.alwaysShowIcon())
 		{
 			clientToolbar.removeNavigation(navButton);
@@ -323,40 +579,108 @@ public class PartyPanelPlugin extends Plugin
 		}
 	}
 
+	@Subscribe
+	public void onUserJoin(final UserJoin event)
+	{
+		memberSequences.remove(event.getMemberId());
+
+		// New members are assumed to be on an older version until they announce their capabilities
+		if (!isLocalPlayer(event.getMemberId()))
+		{
+			updatePartyFeatures(event.getMemberId(), -1);
+		}
+	}
+
 	@Subscribe
 	public void onUserSync(final UserSync event)
 	{
+		// Members send a UserSync before anything else when their plugin starts, so their next batch restarts the sequence
+		memberSequences.remove(event.getMemberId());
+		// and announce their capabilities again in case they changed, use the json baseline for them until then
+		if (!isLocalPlayer(event.getMemberId()) && memberFeatures.remove(event.getMemberId()) != null)
+		{
+			updatePartyFeatures(-1, -1);
+		}
+
 		if (!addedButton)
 		{
 			clientToolbar.addNavigation(navButton);
 			addedButton = true;
 		}
 
-		if (myPlayer != null)
+		if (partyService.getLocalMember() != null)
+		{
+			partyService.send(new PartyCapabilities(partyService.getLocalMember().getMemberId()));
+		}
+
+		// Every member joining or reconnecting sends a UserSync, so they are collapsed into a single snapshot.
+		// The window doesn't grow with more syncs so members joining later aren't kept waiting
+		final long delay = SYNC_DEBOUNCE_MILLIS / 2 + ThreadLocalRandom.current().nextLong(SYNC_DEBOUNCE_MILLIS / 2 + 1);
+		clientThread.invoke(() -> scheduleSnapshot(delay));
+	}
+
+	// Should only be called on the client thread
+	private void scheduleSnapshot(final long delay)
+	{
+		if (scheduledSnapshot != null)
 		{
-			final PartyBatchedChange c = partyPlayerAsBatchedChange();
-			if (c.isValid())
-			{
-				partyService.send(c);
-			}
 			return;
 		}
 
-		clientThread.invoke(() ->
+		scheduledSnapshot = executor.schedule(() -> clientThread.invoke(this::sendScheduledSnapshot), delay, TimeUnit.MILLISECONDS);
+	}
+
+	private void sendScheduledSnapshot()
+	{
+		// Cancelled after it was already queued on the client thread
+		if (scheduledSnapshot == null)
 		{
-			myPlayer = new PartyPlayer(partyService.getLocalMember(), client, itemManager, clientThread);
-			final PartyBatchedChange c = partyPlayerAsBatchedChange();
-			if (c.isValid())
-			{
-				partyService.send(c);
-			}
-		});
+			return;
+		}
+		scheduledSnapshot = null;
+
+		if (!isInParty() || partyService.getLocalMember() == null)
+		{
+			return;
+		}
+
+		// The connection dropped again, try again after a longer wait
+		if (!wsClient.isOpen())
+		{
+			scheduleSnapshot(syncBackoff.nextDelay(System.currentTimeMillis()));
+			return;
+		}
+
+		// The snapshot is only updated on the client thread
+		if (myPlayer == null)
+		{
+			resetLocalPlayer();
+		}
+		sendSnapshot();
+	}
+
+	private void cancelScheduledSnapshot()
+	{
+		final ScheduledFuture<?> future = scheduledSnapshot;
+		scheduledSnapshot = null;
+		if (future != null)
+		{
+			future.cancel(false);
+		}
 	}
 
 	@Subscribe
 	public void onPartyChanged(final PartyChanged event)
 	{
 		partyMembers.clear();
+		memberSequences.clear();
+		memberFeatures.clear();
+		updatePartyFeatures(-1, -1);
+		sectionRequestTicks.clear();
+		requestedSections.set(0);
+		viewerInterest.clear();
+		staleSections = 0;
+		cancelScheduledSnapshot();
 		SwingUtilities.invokeLater(() ->
 		{
 			panel.clearSidebar();
@@ -394,18 +718,32 @@ public class PartyPanelPlugin extends Plugin
 			return;
 		}
 
-		// To reduce server load we should only process changes every X ticks
-		if (client.getTickCount() % messageFreq(partyService.getMembers().size()) != 0)
+		// To reduce server load each member only sends their share of the bandwidth budget
+		final int partySize = partyService.getMembers().size();
+		final double bytesPerSecond = Math.max(MIN_MEMBER_BUDGET, (double) bandwidthBudget / Math.max(1, partySize));
+		sendBudget.refill(bytesPerSecond * SECONDS_PER_TICK, bytesPerSecond * BUDGET_BURST_SECONDS);
+		if (partySize != miscPolicyPartySize)
 		{
-			return;
+			miscPolicyPartySize = partySize;
+			updateMiscPolicy(partySize);
+		}
+
+		final BandwidthProfile profile = bandwidthProfile;
+		if (profile.getSections() != publishedSections)
+		{
+			final int unpublished = publishedSections & ~profile.getSections();
+			publishedSections = profile.getSections();
+			if (myPlayer != null && unpublished != 0)
+			{
+				clearSections(unpublished);
+			}
 		}
 
 		// First time logging in or they changed accounts so resend the entire player object
 		if (myPlayer == null || !Objects.equals(client.getLocalPlayer().getName(), myPlayer.getUsername()))
 		{
-			myPlayer = new PartyPlayer(partyService.getLocalMember(), client, itemManager, clientThread);
-			final PartyBatchedChange c = partyPlayerAsBatchedChange();
-			partyService.send(c);
+			resetLocalPlayer();
+			sendSnapshot();
 			return;
 		}
 
@@ -415,8 +753,9 @@ public class PartyPanelPlugin extends Plugin
 
 			for (final Skill s : Skill.values())
 			{
-				currentChange.getS().add(myPlayer.getStats().createPartyStatChangeForSkill(s));
+				queueStat(s, myPlayer.getStats().getBaseLevels().get(s), myPlayer.getStats().getBoostedLevels().get(s));
 			}
+			snapshotStatsMisc();
 		}
 		else
 		{
@@ -425,84 +764,346 @@ public class PartyPanelPlugin extends Plugin
 			if (myPlayer.getStats().getRunEnergy() != energy)
 			{
 				myPlayer.getStats().setRunEnergy(energy);
-				currentChange.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.R, energy));
+				snapshot.addMisc(PartyMiscChange.PartyMisc.R, energy);
 			}
+
+			// Send any changes which were held back by their policy once it allows them
+			catchUpMisc(PartyMiscChange.PartyMisc.R, energy);
+			catchUpMisc(PartyMiscChange.PartyMisc.S, myPlayer.getStats().getSpecialPercent());
+			catchUpMisc(PartyMiscChange.PartyMisc.ST, myPlayer.getStamina());
+			correctPredictions(energy);
 		}
 
+		updatePredictions();
+
 		if (myPlayer.getPrayers() == null)
 		{
 			myPlayer.setPrayers(new Prayers(client));
-			final Collection<Prayer> available = new ArrayList<>();
-			final Collection<Prayer> enabled = new ArrayList<>();
-			final Collection<Prayer> unlocked = new ArrayList<>();
-			for (final PrayerSprites p : PrayerSprites.values())
+			prayersChanged = false;
+			lastPrayerRefreshTick = client.getTickCount();
+			queuePrayers();
+		}
+		else if (prayersChanged || client.getTickCount() - lastPrayerRefreshTick >= PRAYER_REFRESH_INTERVAL)
+		{
+			prayersChanged = false;
+			lastPrayerRefreshTick = client.getTickCount();
+
+			// Send all masks whenever any prayer has changed since receivers assume all prayers are not available & disabled
+			if (myPlayer.getPrayers().updatePrayerStates(client))
 			{
-				final PrayerData data = myPlayer.getPrayers().getPrayerData().get(p.getPrayer());
-				if (data.isAvailable())
-				{
-					available.add(p.getPrayer());
-				}
+				queuePrayers();
+			}
+		}
 
-				if (data.isEnabled())
-				{
-					enabled.add(p.getPrayer());
-				}
+		if (myPlayer.getSpellbook() == -1)
+		{
+			updateSpellbook();
+		}
 
-				if (data.isUnlocked())
-				{
-					unlocked.add(p.getPrayer());
-				}
+		final ActivityTracker.Activity activity = updateActivity();
+
+		// Sections which aren't published or nobody is displaying are dropped and resent in full once they are
+		final int published = getInterestedSections() & publishedSections;
+		removeUnpublishedSections(published);
+		final int resend = staleSections & published;
+		if (resend != 0)
+		{
+			staleSections &= ~resend;
+			requestedSections.accumulateAndGet(resend, (a, b) -> a | b);
+		}
+
+		// While disconnected every change is merged into the pending changes, which keep only the latest value of each field,
+		// and sent as a single batch once reconnected instead of being lost
+		final boolean connected = wsClient.isOpen();
+		final boolean reconnected = connected && !wasConnected;
+		wasConnected = connected;
+		if (!connected)
+		{
+			localChanges.hold();
+
+			// Only the small capabilities message is sent to trigger the reconnect, everything else waits for it
+			final long now = System.currentTimeMillis();
+			if (now >= nextReconnectAttempt)
+			{
+				nextReconnectAttempt = now + reconnectBackoff.nextDelay(now);
+				partyService.send(new PartyCapabilities(partyService.getLocalMember().getMemberId()));
 			}
+			return;
+		}
+		reconnectBackoff.reset();
+		nextReconnectAttempt = 0;
 
-			currentChange.setAp(PartyBatchedChange.pack(available));
-			currentChange.setEp(PartyBatchedChange.pack(enabled));
-			currentChange.setUp(PartyBatchedChange.pack(unlocked));
+		// Vitals are always sent, along with the rest of the pending changes whenever there is enough budget for them
+		final PartyBatchBuilder urgentChange = localChanges.getUrgent();
+		if (!urgentChange.isEmpty())
+		{
+			sendBudget.consume(urgentChange.estimateSize());
 		}
-		else
+
+		if (reconnected && !currentChange.isEmpty())
 		{
-			final Collection<Prayer> available = new ArrayList<>();
-			final Collection<Prayer> enabled = new ArrayList<>();
-			final Collection<Prayer> unlocked = new ArrayList<>();
-			boolean change = false;
-			for (final PrayerSprites p : PrayerSprites.values())
+			sendBudget.consume(currentChange.estimateSize());
+		}
+
+		final boolean sendBulk = !currentChange.isEmpty()
+				&& (reconnected || spendBudget(currentChange.estimateSize(), activity.getSendPeriod() * profile.getSendPeriodScale()));
+		final PartyBatchedChange change = localChanges.poll(sendBulk);
+		if (change != null)
+		{
+			sendChange(change);
+		}
+
+		// Only resend what other members reported as out of sync instead of the entire player
+		final int sections = requestedSections.getAndSet(0);
+		if (sections != 0)
+		{
+			lastDigestTick = client.getTickCount();
+			final PartyBatchedChange c = partyPlayerAsBatchedChange(sections);
+			if (c.isValid())
 			{
-				change = myPlayer.getPrayers().updatePrayerState(p, client) || change;
+				send(c);
+			}
+		}
+		// Members compare the digest against what they have received, so wait until nothing is held back by the budget
+		else if (client.getTickCount() - lastDigestTick >= DIGEST_INTERVAL
+				&& localChanges.isEmpty()
+				&& anyMemberSupports(PartyCapabilities.DIGESTS))
+		{
+			lastDigestTick = client.getTickCount();
+			partyService.send(new PartyStateDigest(partyService.getLocalMember().getMemberId(), StateDigest.compute(myPlayer, publishedSections)));
+		}
+	}
 
-				// Store the data for this prayer regardless of if it changes since any update
-				// will assume all prayers are not available & disabled
-				final PrayerData data = myPlayer.getPrayers().getPrayerData().get(p.getPrayer());
-				if (data.isAvailable())
-				{
-					available.add(p.getPrayer());
-				}
+	private int getInterestedSections()
+	{
+		// Members on older versions may be displaying anything
+		if ((partyFeatures & PartyCapabilities.INTERESTS) == 0)
+		{
+			return StateDigest.ALL_SECTIONS;
+		}
 
-				if (data.isEnabled())
-				{
-					enabled.add(p.getPrayer());
-				}
+		return viewerInterest.getSections(partyService.getMembers(), partyService.getLocalMember().getMemberId());
+	}
+
+	private void removeUnpublishedSections(final int sections)
+	{
+		staleSections |= localChanges.removeSections(sections, BANNER_SKILLS);
+	}
+
+	// Empties sections which are no longer published so members don't keep displaying outdated values
+	private void clearSections(final int sections)
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		if (hasSection(sections, StateDigest.INVENTORY))
+		{
+			c.setI(new int[0]);
+			c.setRp(new int[0]);
+			inventoryDeltas.reset(c.getI());
+		}
+
+		if (hasSection(sections, StateDigest.EQUIPMENT))
+		{
+			c.setE(new int[0]);
+			c.setQ(new int[0]);
+			equipmentDeltas.reset(c.getE());
+		}
+
+		if (hasSection(sections, StateDigest.PRAYERS))
+		{
+			c.setAp(0);
+			c.setEp(0);
+			c.setUp(0);
+		}
+
+		// Skills keep their last published levels as there is no way to clear them, but are resent once published again
+		staleSections |= sections;
+
+		c.setMemberId(partyService.getLocalMember().getMemberId());
+		transmitted.record(c, client.getTickCount());
+		c.removeDefaults();
+		if (c.isValid())
+		{
+			send(c);
+		}
+	}
+
+	/**
+	 * Announces the sections displayed for each member, called on the EDT whenever a player panel is added, removed or
+	 * changes which sections it displays
+	 *
+	 * @param force whether to announce even if the displayed sections are unchanged, such as for a member who just joined
+	 */
+	void announceInterest(final boolean force)
+	{
+		final PartyMember localMember = partyService.getLocalMember();
+		if (localMember == null || !anyMemberSupports(PartyCapabilities.INTERESTS))
+		{
+			return;
+		}
+
+		final Map<Long, PlayerPanel> panels = panel.getPlayerPanelMap();
+		if (!force && isAnnounced(displayedInterest, panels))
+		{
+			return;
+		}
+
+		final long[] t = new long[panels.size()];
+		final int[] s = new int[panels.size()];
+		int idx = 0;
+		for (final Map.Entry<Long, PlayerPanel> entry : panels.entrySet())
+		{
+			t[idx] = entry.getKey();
+			s[idx] = entry.getValue().getVisibleSections();
+			idx++;
+		}
+
+		displayedInterest = new PartyInterest(localMember.getMemberId(), t, s);
+		partyService.send(displayedInterest);
+	}
+
+	// Whether the interest lists exactly the displayed members with the sections they currently display
+	private static boolean isAnnounced(final PartyInterest interest, final Map<Long, PlayerPanel> panels)
+	{
+		final long[] t = interest.getT();
+		final int[] s = interest.getS();
+		if (t == null || s == null || t.length != panels.size())
+		{
+			return false;
+		}
+
+		for (final Map.Entry<Long, PlayerPanel> entry : panels.entrySet())
+		{
+			int idx = 0;
+			while (idx < t.length && t[idx] != entry.getKey())
+			{
+				idx++;
 			}
 
-			// Send both arrays as bit-packed ints whenever any prayer has changed.
-			if (change)
+			if (idx == t.length || s[idx] != entry.getValue().getVisibleSections())
 			{
-				currentChange.setAp(PartyBatchedChange.pack(available));
-				currentChange.setEp(PartyBatchedChange.pack(enabled));
-				currentChange.setUp(PartyBatchedChange.pack(unlocked));
+				return false;
 			}
 		}
+		return true;
+	}
 
-		if (myPlayer.getSpellbook() == -1)
+	private void sendChange(final PartyBatchedChange c)
+	{
+		c.setMemberId(partyService.getLocalMember().getMemberId()); // Add member ID before sending
+		removeUnchanged(c);
+		encodeItemDeltas(c);
+		c.removeDefaults();
+
+		// Everything may have changed back to what was last sent
+		if (c.isValid())
 		{
-			updateSpellbook();
+			send(c);
+		}
+	}
+
+	private PartyMemberMessage send(final PartyBatchedChange c)
+	{
+		c.setSq(++sequence);
+		c.setTk(client.getTickCount());
+		// Members extrapolate from every value sent, so track the same to know what they are displaying
+		c.samplePredictions(runEnergyPrediction, prayerPrediction);
+
+		final int features = partyFeatures;
+		final PartyMemberMessage message = (features & PartyCapabilities.COMPACT) != 0
+				? new PartyCompactChange(c, (features & PartyCapabilities.DEFLATE) != 0)
+				: c;
+		partyService.send(message);
+		return message;
+	}
+
+	// Sends the entire local player, back-to-back resyncs resend the same message while nothing has changed or been sent since
+	private void sendSnapshot()
+	{
+		// Anything sent now would be lost, retry once the connection is back
+		if (!wsClient.isOpen())
+		{
+			scheduleSnapshot(syncBackoff.nextDelay(System.currentTimeMillis()));
+			return;
+		}
+		syncBackoff.reset();
+
+		if (lastSnapshot != null
+				&& lastSnapshotVersion == snapshot.getVersion()
+				&& lastSnapshotSequence == sequence
+				&& lastSnapshotFeatures == partyFeatures
+				&& lastSnapshotSections == publishedSections)
+		{
+			partyService.send(lastSnapshot);
+			return;
+		}
+
+		final PartyBatchedChange c = partyPlayerAsBatchedChange();
+		if (!c.isValid())
+		{
+			return;
+		}
+
+		lastSnapshotFeatures = partyFeatures;
+		lastSnapshot = send(c);
+		lastSnapshotVersion = snapshot.getVersion();
+		lastSnapshotSequence = sequence;
+		lastSnapshotSections = publishedSections;
+	}
+
+	// Drop any section which is the same as what was last sent, e.g. the item containers being resent after a world hop
+	private void removeUnchanged(final PartyBatchedChange c)
+	{
+		if (c.getI() != null && inventoryDeltas.isUnchanged(c.getI()))
+		{
+			c.setI(null);
+		}
+
+		if (c.getE() != null && equipmentDeltas.isUnchanged(c.getE()))
+		{
+			c.setE(null);
+		}
+
+		transmitted.removeUnchanged(c);
+		transmitted.record(c, client.getTickCount());
+	}
+
+	// Replace full item containers with only the slots that changed since they were last sent
+	private void encodeItemDeltas(final PartyBatchedChange c)
+	{
+		// Older members can only apply full containers, but keep track of them so deltas can resume once they leave
+		if ((partyFeatures & PartyCapabilities.ITEM_DELTAS) == 0)
+		{
+			if (c.getI() != null)
+			{
+				inventoryDeltas.reset(c.getI());
+			}
+			if (c.getE() != null)
+			{
+				equipmentDeltas.reset(c.getE());
+			}
+			return;
 		}
 
-		if (currentChange.isValid())
+		if (c.getI() != null)
 		{
-			currentChange.setMemberId(partyService.getLocalMember().getMemberId()); // Add member ID before sending
-			currentChange.removeDefaults();
-			partyService.send(currentChange);
+			final int[][] delta = inventoryDeltas.encode(c.getI());
+			if (delta != null)
+			{
+				c.setI(null);
+				c.setDi(delta[0].length == 0 ? null : delta[0]);
+				c.setQi(delta[1].length == 0 ? null : delta[1]);
+			}
+		}
 
-			currentChange = new PartyBatchedChange();
+		if (c.getE() != null)
+		{
+			final int[][] delta = equipmentDeltas.encode(c.getE());
+			if (delta != null)
+			{
+				c.setE(null);
+				c.setDe(delta[0].length == 0 ? null : delta[0]);
+				c.setQe(delta[1].length == 0 ? null : delta[1]);
+			}
 		}
 	}
 
@@ -524,16 +1125,37 @@ public class PartyPanelPlugin extends Plugin
 
 		final int virtualLvl = Experience.getLevelForXp(event.getXp());
 
+		if (s == Skill.HITPOINTS && event.getBoostedLevel() < myPlayer.getSkillBoostedLevel(s))
+		{
+			activityTracker.combat(client.getTickCount());
+		}
+
+		// Prayers have prayer & defence level requirements
+		if ((s == Skill.PRAYER || s == Skill.DEFENCE) && virtualLvl != myPlayer.getSkillRealLevel(s))
+		{
+			prayersChanged = true;
+		}
+
+		final boolean levelChanged = virtualLvl != myPlayer.getStats().getBaseLevels().get(s);
 		myPlayer.setSkillsBoostedLevel(event.getSkill(), event.getBoostedLevel());
 		myPlayer.setSkillsRealLevel(event.getSkill(), virtualLvl);
 
-		currentChange.getS().add(new PartyStatChange(event.getSkill().ordinal(), virtualLvl, event.getBoostedLevel()));
+		// Prayer points draining or restoring are extrapolated by members, so are only sent once they stray from it
+		if (s == Skill.PRAYER && !levelChanged && isPredicted(prayerPrediction, event.getBoostedLevel(), getMaxPrayer(virtualLvl)))
+		{
+			snapshot.addStat(s.ordinal(), virtualLvl, event.getBoostedLevel());
+		}
+		else
+		{
+			queueStat(event.getSkill(), virtualLvl, event.getBoostedLevel());
+		}
 
 		// Total level change
 		if (myPlayer.getStats().getTotalLevel() != client.getTotalLevel())
 		{
 			myPlayer.getStats().setTotalLevel(client.getTotalLevel());
-			currentChange.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.T, myPlayer.getStats().getTotalLevel()));
+			currentChange.addMisc(PartyMiscChange.PartyMisc.T, myPlayer.getStats().getTotalLevel());
+			snapshot.addMisc(PartyMiscChange.PartyMisc.T, myPlayer.getStats().getTotalLevel());
 		}
 
 		// Combat level change
@@ -541,7 +1163,8 @@ public class PartyPanelPlugin extends Plugin
 		myPlayer.getStats().recalculateCombatLevel();
 		if (myPlayer.getStats().getCombatLevel() != oldCombatLevel)
 		{
-			currentChange.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.C, myPlayer.getStats().getCombatLevel()));
+			currentChange.addMisc(PartyMiscChange.PartyMisc.C, myPlayer.getStats().getCombatLevel());
+			snapshot.addMisc(PartyMiscChange.PartyMisc.C, myPlayer.getStats().getCombatLevel());
 		}
 	}
 
@@ -559,12 +1182,15 @@ public class PartyPanelPlugin extends Plugin
 			myPlayer.setInventory(GameItem.convertItemsToGameItems(inventory.getItems(), itemManager));
 			int[] items = convertItemsToArray(c.getItemContainer().getItems());
 			currentChange.setI(items);
+			snapshot.setI(items);
 
 			if (itemContainerHasRunePouch(inventory))
 			{
-				final List<Item> runesInPouch = getRunePouchContents(client);
-				myPlayer.setRunesInPouch(GameItem.convertItemsToGameItems(runesInPouch.toArray(Item[]::new), itemManager));
-				currentChange.setRp(convertRunePouchContentsToPackedInts(runesInPouch));
+				// The slots are already kept up to date by onVarbitChanged
+				final int[] runesInPouch = getPackedRunePouch();
+				myPlayer.setRunesInPouch(getRunePouchItems());
+				currentChange.setRp(runesInPouch);
+				snapshot.setRp(runesInPouch);
 			}
 
 			// As long as they have the quiver in their inventory and have already worn it we should keep showing it in the UI
@@ -590,6 +1216,7 @@ public class PartyPanelPlugin extends Plugin
 			myPlayer.setEquipment(GameItem.convertItemsToGameItems(c.getItemContainer().getItems(), itemManager));
 			int[] items = convertItemsToArray(c.getItemContainer().getItems());
 			currentChange.setE(items);
+			snapshot.setE(items);
 
 			final Item cape = c.getItemContainer().getItem(EquipmentInventorySlot.CAPE.getSlotIdx());
 			boolean isWearingQuiver = cape != null && DIZANAS_QUIVER_IDS.contains(cape.getId());
@@ -625,14 +1252,9 @@ public class PartyPanelPlugin extends Plugin
 		}
 
 		myPlayer.getQuiver().setQuiverAmmo(quiverAmmo);
-		if (quiverAmmo != null)
-		{
-			currentChange.setQ(new int[] {quiverAmmo.getId(), quiverAmmo.getQty()});
-		}
-		else
-		{
-			currentChange.setQ(new int[0]);
-		}
+		final int[] q = quiverAmmo != null ? new int[] {quiverAmmo.getId(), quiverAmmo.getQty()} : new int[0];
+		currentChange.setQ(q);
+		snapshot.setQ(q);
 	}
 
 	private static boolean itemContainerHasRunePouch(ItemContainer inventory)
@@ -647,13 +1269,6 @@ public class PartyPanelPlugin extends Plugin
 		return false;
 	}
 
-	public int[] convertRunePouchContentsToPackedInts(final List<Item> runesInPouch)
-	{
-		return runesInPouch.stream()
-				.mapToInt(PartyBatchedChange::packRune)
-				.toArray();
-	}
-
 	public static List<Item> getRunePouchContents(Client client)
 	{
 		final EnumComposition runepouchEnum = client.getEnum(EnumID.RUNEPOUCH_RUNE);
@@ -682,55 +1297,127 @@ public class PartyPanelPlugin extends Plugin
 	@Subscribe
 	public void onVarbitChanged(final VarbitChanged event)
 	{
-		if (myPlayer == null || myPlayer.getStats() == null || !isInParty())
+		final int handler = event.getVarbitId() != -1
+				? getVarHandler(VARBIT_HANDLERS, event.getVarbitId())
+				: getVarHandler(VARP_HANDLERS, event.getVarpId());
+		if (handler == VAR_NONE)
 		{
 			return;
 		}
 
-		final int specialPercent = client.getVarpValue(VarPlayerID.SA_ENERGY) / 10;
-		if (specialPercent != myPlayer.getStats().getSpecialPercent())
-		{
-			myPlayer.getStats().setSpecialPercent(specialPercent);
-			currentChange.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.S, specialPercent));
-		}
+		// The rune pouch slots are tracked outside of parties so they are already correct when joining one
+		final boolean runePouchChanged = (handler & VAR_HANDLER_MASK) == VAR_RUNE_POUCH
+				&& updateRunePouchSlot(handler >>> VAR_SLOT_SHIFT);
 
-		final int stamina = client.getVarbitValue(VarbitID.STAMINA_DURATION);
-		if (stamina != myPlayer.getStamina())
+		if (myPlayer == null || myPlayer.getStats() == null || !isInParty())
 		{
-			myPlayer.setStamina(stamina);
-			currentChange.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.ST, stamina));
+			return;
 		}
 
-		final int poison = client.getVarpValue(VarPlayerID.POISON);
-		if (poison != myPlayer.getPoison())
+		switch (handler & VAR_HANDLER_MASK)
 		{
-			myPlayer.setPoison(poison);
-			currentChange.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.P, poison));
+			case VAR_SPECIAL:
+				final int specialPercent = client.getVarpValue(VarPlayerID.SA_ENERGY) / 10;
+				if (specialPercent != myPlayer.getStats().getSpecialPercent())
+				{
+					myPlayer.getStats().setSpecialPercent(specialPercent);
+					queueMisc(PartyMiscChange.PartyMisc.S, specialPercent);
+				}
+				break;
+			case VAR_STAMINA:
+				final int stamina = client.getVarbitValue(VarbitID.STAMINA_DURATION);
+				if (stamina != myPlayer.getStamina())
+				{
+					myPlayer.setStamina(stamina);
+					queueMisc(PartyMiscChange.PartyMisc.ST, stamina);
+				}
+				break;
+			case VAR_POISON:
+				final int poison = client.getVarpValue(VarPlayerID.POISON);
+				if (poison != myPlayer.getPoison())
+				{
+					myPlayer.setPoison(poison);
+					queueMisc(PartyMiscChange.PartyMisc.P, poison);
+				}
+				break;
+			case VAR_DISEASE:
+				final int disease = client.getVarpValue(VarPlayerID.DISEASE);
+				if (disease != myPlayer.getDisease())
+				{
+					myPlayer.setDisease(disease);
+					queueMisc(PartyMiscChange.PartyMisc.D, disease);
+				}
+				break;
+			case VAR_RUNE_POUCH:
+				if (runePouchChanged)
+				{
+					myPlayer.setRunesInPouch(getRunePouchItems());
+					currentChange.setRp(getPackedRunePouch());
+					snapshot.setRp(getPackedRunePouch());
+				}
+				break;
+			case VAR_QUIVER:
+				updateQuiverAmmo();
+				break;
+			case VAR_SPELLBOOK:
+				updateSpellbook();
+				break;
+			case VAR_PRAYER:
+				prayersChanged = true;
+				break;
 		}
+	}
 
-		final int disease = client.getVarpValue(VarPlayerID.DISEASE);
-		if (disease != myPlayer.getDisease())
+	private static byte[] withVarHandler(byte[] handlers, final int id, final int handler)
+	{
+		if (id >= handlers.length)
 		{
-			myPlayer.setDisease(disease);
-			currentChange.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.D, disease));
+			handlers = Arrays.copyOf(handlers, id + 1);
 		}
 
-		if (ArrayUtils.contains(RUNEPOUCH_RUNE_VARBITS, event.getVarbitId()) || ArrayUtils.contains(RUNEPOUCH_AMOUNT_VARBITS, event.getVarbitId()))
-		{
-			List<Item> runePouchContents = getRunePouchContents(client);
-			myPlayer.setRunesInPouch(GameItem.convertItemsToGameItems(runePouchContents.toArray(Item[]::new), itemManager));
-			currentChange.setRp(convertRunePouchContentsToPackedInts(runePouchContents));
-		}
+		handlers[id] = (byte) handler;
+		return handlers;
+	}
 
-		if (event.getVarpId() == VarPlayerID.DIZANAS_QUIVER_TEMP_AMMO_AMOUNT || event.getVarpId() == VarPlayerID.DIZANAS_QUIVER_TEMP_AMMO)
+	private static int getVarHandler(final byte[] handlers, final int id)
+	{
+		return id >= 0 && id < handlers.length ? handlers[id] : VAR_NONE;
+	}
+
+	// Re-reads a single rune pouch slot, returns true if its contents changed
+	private boolean updateRunePouchSlot(final int slot)
+	{
+		int packed = 0;
+		final int amount = client.getVarbitValue(RUNEPOUCH_AMOUNT_VARBITS[slot]);
+		final int runeId = client.getVarbitValue(RUNEPOUCH_RUNE_VARBITS[slot]);
+		if (amount > 0 && runeId != 0)
 		{
-			updateQuiverAmmo();
+			packed = PartyBatchedChange.packRune(client.getEnum(EnumID.RUNEPOUCH_RUNE).getIntValue(runeId), amount);
 		}
 
-		if (event.getVarbitId() == VarbitID.SPELLBOOK)
+		if (packed == runePouchSlots[slot])
 		{
-			updateSpellbook();
+			return false;
 		}
+
+		runePouchSlots[slot] = packed;
+		runePouchItems[slot] = packed == 0 ? null : new GameItem(PartyBatchedChange.unpackRune(packed), itemManager);
+		return true;
+	}
+
+	// Same format as getRunePouchContents, empty slots are skipped
+	private GameItem[] getRunePouchItems()
+	{
+		return Arrays.stream(runePouchItems)
+				.filter(Objects::nonNull)
+				.toArray(GameItem[]::new);
+	}
+
+	private int[] getPackedRunePouch()
+	{
+		return Arrays.stream(runePouchSlots)
+				.filter(packed -> packed != 0)
+				.toArray();
 	}
 
 	@Subscribe
@@ -755,17 +1442,208 @@ public class PartyPanelPlugin extends Plugin
 		{
 			player.setPrayers(new Prayers());
 		}
+
+		// Batches from older versions don't have a sequence number
+		if (e.getSq() != 0)
+		{
+			final int last = memberSequences.getOrDefault(e.getMemberId(), 0);
+			if (e.getSq() <= last)
+			{
+				return;
+			}
+			memberSequences.put(e.getMemberId(), e.getSq());
+		}
+
+		// Sample every batch in the order it was sent, before it may be merged into an earlier one, so the extrapolation
+		// runs over the same values as the sender's. Older members send every change so there is nothing to extrapolate
+		final boolean predicted = e.getTk() != 0 && (memberFeatures.getOrDefault(e.getMemberId(), 0) & PartyCapabilities.PREDICTIONS) != 0;
+		if (predicted)
+		{
+			e.samplePredictions(player.getRunEnergyPrediction(), player.getPrayerPrediction());
+		}
+
+		// If we are still waiting to apply an earlier batch from this member merge into it instead of applying both
+		synchronized (pendingChanges)
+		{
+			final PartyBatchedChange pending = pendingChanges.get(e.getMemberId());
+			if (pending != null)
+			{
+				pending.merge(e);
+				return;
+			}
+
+			pendingChanges.put(e.getMemberId(), e);
+		}
+
 		clientThread.invoke(() ->
 		{
-			e.process(player, itemManager);
+			final PartyBatchedChange c;
+			synchronized (pendingChanges)
+			{
+				c = pendingChanges.remove(e.getMemberId());
+			}
+
+			if (c == null)
+			{
+				return;
+			}
+
+			int changes = c.process(player, itemManager);
 
+			if (predicted)
+			{
+				player.setTickOffset(c.getTk() - client.getTickCount());
+				if (updatePrediction(player, client.getTickCount()))
+				{
+					changes |= PlayerChanges.BANNER_STATS | PlayerChanges.PRAYERS;
+				}
+			}
+
+			final int drawn = changes;
 			SwingUtilities.invokeLater(() ->
 			{
-				panel.drawPlayerPanel(player, e.hasBreakingBannerChange());
+				panel.drawPlayerPanel(player, drawn);
 			});
 		});
 	}
 
+	@Subscribe
+	public void onPartyCapabilities(PartyCapabilities e)
+	{
+		if (isLocalPlayer(e.getMemberId()))
+		{
+			return;
+		}
+
+		// Members on another protocol version can only be sent the json every version understands
+		final Integer previous = memberFeatures.put(e.getMemberId(), e.getUsableFeatures());
+		updatePartyFeatures(-1, -1);
+
+		// Members only announce their interest when it changes, so tell members who just joined or restarted what is displayed
+		if ((e.getUsableFeatures() & PartyCapabilities.INTERESTS) != 0 && (previous == null || (previous & PartyCapabilities.INTERESTS) == 0))
+		{
+			SwingUtilities.invokeLater(() -> announceInterest(true));
+		}
+	}
+
+	// Only use features which every other member, including one joining and except one leaving, has announced support for.
+	// Called from the party events, so recomputed from the current members under a lock instead of modified in place
+	private synchronized void updatePartyFeatures(final long joiningMemberId, final long leavingMemberId)
+	{
+		// The joining member may not be in the member list yet
+		int features = joiningMemberId == -1
+				? PartyCapabilities.SUPPORTED
+				: PartyCapabilities.SUPPORTED & memberFeatures.getOrDefault(joiningMemberId, 0);
+		final List<PartyMember> members = partyService.getMembers();
+		for (int idx = 0; idx < members.size(); idx++)
+		{
+			final long memberId = members.get(idx).getMemberId();
+			if (!isLocalPlayer(memberId) && memberId != leavingMemberId)
+			{
+				features &= memberFeatures.getOrDefault(memberId, 0);
+			}
+		}
+
+		int any = 0;
+		for (final int f : memberFeatures.values())
+		{
+			any |= f;
+		}
+
+		partyFeatures = features;
+		anyMemberFeatures = any;
+	}
+
+	private boolean anyMemberSupports(final int feature)
+	{
+		return (anyMemberFeatures & feature) != 0;
+	}
+
+	@Subscribe
+	public void onPartyStateDigest(PartyStateDigest e)
+	{
+		if (isLocalPlayer(e.getMemberId()) || e.getH() == null || partyService.getLocalMember() == null)
+		{
+			return;
+		}
+
+		// Compare on the client thread so any batches received before this digest have already been applied
+		clientThread.invoke(() ->
+		{
+			final PartyPlayer player = partyMembers.get(e.getMemberId());
+			if (player == null)
+			{
+				return;
+			}
+
+			int sections = StateDigest.mismatches(e.getH(), StateDigest.compute(player));
+			// Members only send the sections someone is displaying, so the others are expected to be out of date
+			if ((memberFeatures.getOrDefault(e.getMemberId(), 0) & PartyCapabilities.INTERESTS) != 0)
+			{
+				sections &= displayedInterest.getSections(e.getMemberId()) | ~ViewerInterest.INTEREST_SECTIONS;
+			}
+
+			if (sections == 0)
+			{
+				return;
+			}
+
+			final int tick = client.getTickCount();
+			final Integer lastRequest = sectionRequestTicks.get(e.getMemberId());
+			if (lastRequest != null && tick - lastRequest < SECTION_REQUEST_COOLDOWN)
+			{
+				return;
+			}
+
+			sectionRequestTicks.put(e.getMemberId(), tick);
+			partyService.send(new PartySectionRequest(partyService.getLocalMember().getMemberId(), e.getMemberId(), sections));
+		});
+	}
+
+	@Subscribe
+	public void onPartySectionRequest(PartySectionRequest e)
+	{
+		if (isLocalPlayer(e.getMemberId()) || !isLocalPlayer(e.getT()))
+		{
+			return;
+		}
+
+		requestedSections.accumulateAndGet(e.getS() & StateDigest.ALL_SECTIONS, (a, b) -> a | b);
+	}
+
+	@Subscribe
+	public void onPartyInterest(PartyInterest e)
+	{
+		if (isLocalPlayer(e.getMemberId()) || partyService.getLocalMember() == null)
+		{
+			return;
+		}
+
+		viewerInterest.update(e, partyService.getLocalMember().getMemberId());
+	}
+
+	@Subscribe
+	public void onPartyCompactChange(PartyCompactChange e)
+	{
+		if (isLocalPlayer(e.getMemberId()))
+		{
+			return;
+		}
+
+		final PartyBatchedChange c;
+		try
+		{
+			c = e.toBatchedChange();
+		}
+		catch (IllegalArgumentException ex)
+		{
+			log.warn("Unable to decode compact party change from member {}", e.getMemberId(), ex);
+			return;
+		}
+
+		onPartyBatchedChange(c);
+	}
+
 	@Subscribe
 	public void onPartyMemberAvatar(PartyMemberAvatar e)
 	{
@@ -868,87 +1746,131 @@ public class PartyPanelPlugin extends Plugin
 
 	public PartyBatchedChange partyPlayerAsBatchedChange()
 	{
-		final PartyBatchedChange c = new PartyBatchedChange();
-		if (myPlayer == null)
+		return partyPlayerAsBatchedChange(StateDigest.ALL_SECTIONS);
+	}
+
+	/**
+	 * @param sections bit-packed {@link StateDigest} sections to include, only those published by the bandwidth profile are
+	 * included except for the banner skills
+	 */
+	public PartyBatchedChange partyPlayerAsBatchedChange(final int sections)
+	{
+		if (myPlayer == null || snapshot.isEmpty())
 		{
-			return c;
+			return new PartyBatchedChange();
 		}
 
-		// Inventories
-		c.setI(convertGameItemsToArray(myPlayer.getInventory()));
-		c.setE(convertGameItemsToArray(myPlayer.getEquipment()));
+		final int published = sections & publishedSections;
+		final PartyBatchedChange c = snapshot.build();
 
-		// Stats
-		if (myPlayer.getStats() != null)
+		// Inventories, always sent in full so receivers have a base to apply deltas to
+		if (hasSection(published, StateDigest.INVENTORY))
 		{
-			for (final Skill s : Skill.values())
-			{
-				c.getS().add(myPlayer.getStats().createPartyStatChangeForSkill(s));
-			}
+			inventoryDeltas.reset(c.getI());
+		}
+		else
+		{
+			c.setI(null);
+			c.setRp(null);
+		}
 
-			c.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.S, myPlayer.getStats().getSpecialPercent()));
-			c.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.R, myPlayer.getStats().getRunEnergy()));
-			c.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.C, myPlayer.getStats().getCombatLevel()));
-			c.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.T, myPlayer.getStats().getTotalLevel()));
+		if (hasSection(published, StateDigest.EQUIPMENT))
+		{
+			equipmentDeltas.reset(c.getE());
+		}
+		else
+		{
+			c.setE(null);
+			c.setQ(null);
 		}
 
-		// Misc
-		c.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.ST, myPlayer.getStamina()));
-		c.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.P, myPlayer.getPoison()));
-		c.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.D, myPlayer.getDisease()));
-		c.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.W, myPlayer.getWorld()));
+		// Banner skills are always published
+		if (!hasSection(sections, StateDigest.STATS))
+		{
+			c.setSm(0);
+		}
+		else if (!hasSection(published, StateDigest.STATS))
+		{
+			c.setSm(c.getSm() & BANNER_SKILLS);
+		}
 
-		// Prayers
-		if (myPlayer.getPrayers() != null)
+		if (!hasSection(published, StateDigest.MISC))
 		{
-			final Collection<Prayer> available = new ArrayList<>();
-			final Collection<Prayer> enabled = new ArrayList<>();
-			final Collection<Prayer> unlocked = new ArrayList<>();
-			for (final PrayerSprites p : PrayerSprites.values())
-			{
-				final PrayerData data = myPlayer.getPrayers().getPrayerData().get(p.getPrayer());
-				if (data.isAvailable())
-				{
-					available.add(p.getPrayer());
-				}
+			c.setMm(0);
+		}
 
-				if (data.isEnabled())
-				{
-					enabled.add(p.getPrayer());
-				}
+		if (!hasSection(published, StateDigest.PRAYERS))
+		{
+			c.setAp(null);
+			c.setEp(null);
+			c.setUp(null);
+		}
 
-				if (data.isUnlocked())
-				{
-					unlocked.add(p.getPrayer());
-				}
-			}
+		c.setMemberId(partyService.getLocalMember().getMemberId()); // Add member ID before sending
+		transmitted.record(c, client.getTickCount());
+		c.removeDefaults();
 
-			c.setAp(PartyBatchedChange.pack(available));
-			c.setEp(PartyBatchedChange.pack(enabled));
-			c.setUp(PartyBatchedChange.pack(unlocked));
-		}
+		return c;
+	}
+
+	// Creates a new local player and rebuilds the snapshot from it, should only be called on the client thread
+	private void resetLocalPlayer()
+	{
+		myPlayer = new PartyPlayer(partyService.getLocalMember(), client, itemManager, clientThread);
 
-		c.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.U, myPlayer.getUsername()));
+		snapshot.reset();
+		snapshot.setI(convertGameItemsToArray(myPlayer.getInventory()));
+		snapshot.setRp(getPackedRunePouch());
+		snapshot.setE(convertGameItemsToArray(myPlayer.getEquipment()));
 
-		if (client.isClientThread())
+		final GameItem quiverAmmo = myPlayer.getQuiver().getQuiverAmmo();
+		snapshot.setQ(quiverAmmo != null ? new int[] {quiverAmmo.getId(), quiverAmmo.getQty()} : new int[0]);
+
+		if (myPlayer.getStats() != null)
 		{
-			c.setRp(convertRunePouchContentsToPackedInts(getRunePouchContents(client)));
+			for (final Skill s : Skill.values())
+			{
+				snapshot.addStat(s.ordinal(), myPlayer.getStats().getBaseLevels().get(s), myPlayer.getStats().getBoostedLevels().get(s));
+			}
+			snapshotStatsMisc();
 		}
 
-		final GameItem quiverAmmo = myPlayer.getQuiver().getQuiverAmmo();
-		if (quiverAmmo != null)
+		snapshot.addMisc(PartyMiscChange.PartyMisc.ST, myPlayer.getStamina());
+		snapshot.addMisc(PartyMiscChange.PartyMisc.P, myPlayer.getPoison());
+		snapshot.addMisc(PartyMiscChange.PartyMisc.D, myPlayer.getDisease());
+		snapshot.addMisc(PartyMiscChange.PartyMisc.W, myPlayer.getWorld());
+		snapshot.setUsername(myPlayer.getUsername());
+
+		if (myPlayer.getSpellbook() != -1)
 		{
-			c.setQ(new int[] {quiverAmmo.getId(), quiverAmmo.getQty()});
+			snapshot.addMisc(PartyMiscChange.PartyMisc.SP, myPlayer.getSpellbook());
 		}
-		else
+
+		if (myPlayer.getPrayers() != null)
 		{
-			c.setQ(new int[0]);
+			snapshot.setPrayers(myPlayer.getPrayers().getAvailableMask(), myPlayer.getPrayers().getEnabledMask(), myPlayer.getPrayers().getUnlockedMask());
 		}
+	}
 
-		c.setMemberId(partyService.getLocalMember().getMemberId()); // Add member ID before sending
-		c.removeDefaults();
+	// Misc values which are only known once the stats are
+	private void snapshotStatsMisc()
+	{
+		snapshot.addMisc(PartyMiscChange.PartyMisc.S, myPlayer.getStats().getSpecialPercent());
+		snapshot.addMisc(PartyMiscChange.PartyMisc.R, myPlayer.getStats().getRunEnergy());
+		snapshot.addMisc(PartyMiscChange.PartyMisc.C, myPlayer.getStats().getCombatLevel());
+		snapshot.addMisc(PartyMiscChange.PartyMisc.T, myPlayer.getStats().getTotalLevel());
+	}
 
-		return c;
+	private void queuePrayers()
+	{
+		final Prayers prayers = myPlayer.getPrayers();
+		currentChange.setPrayers(prayers.getAvailableMask(), prayers.getEnabledMask(), prayers.getUnlockedMask());
+		snapshot.setPrayers(prayers.getAvailableMask(), prayers.getEnabledMask(), prayers.getUnlockedMask());
+	}
+
+	private static boolean hasSection(final int sections, final int section)
+	{
+		return (sections & (1 << section)) != 0;
 	}
 
 	@Schedule(
@@ -970,17 +1892,262 @@ public class PartyPanelPlugin extends Plugin
 		}
 	}
 
-	private static int messageFreq(int partySize)
+	// Item prices are refreshed periodically, so resolve items again to pick them up
+	@Schedule(
+			period = 30,
+			unit = ChronoUnit.MINUTES
+	)
+	public void refreshItemInfo()
+	{
+		GameItem.clearItemInfo();
+	}
+
+	// Hitpoints & prayer are sent every tick, each skill always goes into the same lane so an older value can't be sent after a newer one
+	private void queueStat(final Skill skill, final int level, final int boostedLevel)
+	{
+		localChanges.addStat(skill, level, boostedLevel);
+		snapshot.addStat(skill.ordinal(), level, boostedLevel);
+	}
+
+	// Special attack, poison & disease are sent every tick
+	private void queueMisc(final PartyMiscChange.PartyMisc type, final int value)
+	{
+		// Resyncs always send the exact value
+		snapshot.addMisc(type, value);
+
+		// Run energy regenerating or draining is extrapolated by members, so is only sent once it strays from it
+		if (type == PartyMiscChange.PartyMisc.R && isPredicted(runEnergyPrediction, value, MAX_RUN_ENERGY))
+		{
+			return;
+		}
+
+		if (!miscPolicy.shouldSend(type, value, transmitted, client.getTickCount()))
+		{
+			return;
+		}
+
+		localChanges.addMisc(type, value);
+	}
+
+	private void catchUpMisc(final PartyMiscChange.PartyMisc type, final int value)
+	{
+		if (transmitted.hasMisc(type) && transmitted.getMiscValue(type) != value)
+		{
+			queueMisc(type, value);
+		}
+	}
+
+	// Whether members extrapolating the value are displaying close enough to it that it doesn't need sending
+	private boolean isPredicted(final DeadReckoning prediction, final int actual, final int max)
+	{
+		final int tick = client.getTickCount();
+		return (partyFeatures & PartyCapabilities.PREDICTIONS) != 0
+				&& prediction.isExtrapolating(tick)
+				&& Math.abs(prediction.predict(tick, max) - actual) <= PREDICTION_TOLERANCE;
+	}
+
+	// Members keep extrapolating after the value stops changing, e.g. once prayers are turned off, so resend it when they stray too far
+	private void correctPredictions(final int energy)
+	{
+		if ((partyFeatures & PartyCapabilities.PREDICTIONS) == 0)
+		{
+			return;
+		}
+
+		// Members hold the prediction once it expires until they are sent the actual value, so it is sent straight away
+		// regardless of the budget. The value may be the same as what was last sent, which would otherwise be dropped
+		final int tick = client.getTickCount();
+		if (runEnergyPrediction.isExpired(tick))
+		{
+			transmitted.forgetMisc(PartyMiscChange.PartyMisc.R);
+			localChanges.expediteMisc(PartyMiscChange.PartyMisc.R, energy);
+		}
+		else if (runEnergyPrediction.isExtrapolating(tick) && !isPredicted(runEnergyPrediction, energy, MAX_RUN_ENERGY))
+		{
+			transmitted.forgetMisc(PartyMiscChange.PartyMisc.R);
+			queueMisc(PartyMiscChange.PartyMisc.R, energy);
+		}
+
+		// Prayer points are always sent straight away
+		final int prayerLevel = myPlayer.getStats().getBaseLevels().get(Skill.PRAYER);
+		final int prayer = myPlayer.getSkillBoostedLevel(Skill.PRAYER);
+		if (prayerPrediction.isExpired(tick)
+				|| (prayerPrediction.isExtrapolating(tick) && !isPredicted(prayerPrediction, prayer, getMaxPrayer(prayerLevel))))
+		{
+			transmitted.forgetStat(Skill.PRAYER);
+			queueStat(Skill.PRAYER, prayerLevel, prayer);
+		}
+	}
+
+	// Prayer points are restored up to the real prayer level, which unlike the levels sent isn't virtual
+	private static int getMaxPrayer(final int level)
+	{
+		return Math.min(level, Experience.MAX_REAL_LEVEL);
+	}
+
+	// Extrapolates other members' run energy & prayer points between their updates
+	private void updatePredictions()
+	{
+		final int tick = client.getTickCount();
+		synchronized (predictionDraws)
+		{
+			// A draw is already queued if the list isn't empty
+			final boolean queued = !predictionDraws.isEmpty();
+			for (final PartyPlayer player : partyMembers.values())
+			{
+				if (updatePrediction(player, tick) && !isPredictionDrawQueued(player))
+				{
+					predictionDraws.add(player);
+				}
+			}
+
+			if (!queued && !predictionDraws.isEmpty())
+			{
+				SwingUtilities.invokeLater(drawPredictions);
+			}
+		}
+	}
+
+	// PartyPlayer equality compares their entire state, so look for the same instance instead
+	private boolean isPredictionDrawQueued(final PartyPlayer player)
 	{
-		// introduce a tick delay for each member >6
-		// Default the message frequency to every 2 ticks since this plugin sends a lot of data
-		return Math.max(2, partySize - 6);
+		for (int idx = 0; idx < predictionDraws.size(); idx++)
+		{
+			if (predictionDraws.get(idx) == player)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void drawPredictions()
+	{
+		synchronized (predictionDraws)
+		{
+			for (int idx = 0; idx < predictionDraws.size(); idx++)
+			{
+				// Skip members who left since their draw was queued rather than adding their panel back
+				final PartyPlayer player = predictionDraws.get(idx);
+				if (panel.getPlayerPanelMap().containsKey(player.getMember().getMemberId()))
+				{
+					panel.drawPlayerPanel(player, PlayerChanges.BANNER_STATS | PlayerChanges.PRAYERS);
+				}
+			}
+			predictionDraws.clear();
+		}
+	}
+
+	/**
+	 * @return whether the run energy or prayer points displayed for the member changed
+	 */
+	private static boolean updatePrediction(final PartyPlayer player, final int tick)
+	{
+		if (player.getStats() == null)
+		{
+			return false;
+		}
+
+		final int memberTick = tick + player.getTickOffset();
+		final int run = player.getRunEnergyPrediction().isSampled()
+				? player.getRunEnergyPrediction().predict(memberTick, MAX_RUN_ENERGY)
+				: -1;
+		final int prayer = player.getPrayerPrediction().isSampled()
+				? player.getPrayerPrediction().predict(memberTick, getMaxPrayer(player.getStats().getBaseLevels().getOrDefault(Skill.PRAYER, 0)))
+				: -1;
+
+		final int displayedRun = player.getDisplayedRunEnergy();
+		final int displayedPrayer = player.getDisplayedPrayer();
+		player.setPredictedRunEnergy(run);
+		player.setPredictedPrayer(prayer);
+		return player.getDisplayedRunEnergy() != displayedRun || player.getDisplayedPrayer() != displayedPrayer;
+	}
+
+	private void updateCachedConfig()
+	{
+		bandwidthBudget = config.bandwidthBudget();
+		bandwidthProfile = config.bandwidthProfile();
+		// Set up again on the next tick
+		miscPolicyPartySize = -1;
+	}
+
+	private void updateMiscPolicy(final int partySize)
+	{
+		// Larger parties default to coarser steps since every change is sent to every member
+		final int interval = config.preciseInterval() > 0 ? config.preciseInterval() : (partySize <= 4 ? 0 : partySize <= 10 ? 5 : 10);
+		final int runStep = config.runEnergyStep() > 0 ? config.runEnergyStep() : (partySize <= 4 ? 1 : partySize <= 10 ? 5 : 10);
+		final int specialStep = config.specialAttackStep() > 0 ? config.specialAttackStep() : (partySize <= 10 ? 1 : 5);
+		final int staminaStep = config.staminaStep() > 0 ? config.staminaStep() : (partySize <= 4 ? 1 : 5);
+
+		miscPolicy.set(PartyMiscChange.PartyMisc.R, runStep, interval);
+		miscPolicy.set(PartyMiscChange.PartyMisc.S, specialStep, interval);
+		miscPolicy.set(PartyMiscChange.PartyMisc.ST, staminaStep, interval);
+	}
+
+	// Small batches are sent straight away, even if it puts the budget into debt, larger ones are held back and combined with
+	// later changes until it is the local members send phase and there is enough budget for them.
+	// With longer periods, such as while idle, every batch waits for the send phase so changes are trickled out together
+	private boolean spendBudget(final int size, final int period)
+	{
+		final boolean small = size <= SMALL_BATCH_SIZE;
+		if (small && period <= SMALL_BATCH_PERIOD)
+		{
+			return sendBudget.consumeWithDebt(size);
+		}
+
+		// Each member's phase is offset by their member id so the party doesn't send on the same ticks
+		final long phase = Math.floorMod(partyService.getLocalMember().getMemberId(), period);
+		if ((client.getTickCount() + phase) % period != 0)
+		{
+			return false;
+		}
+
+		return small ? sendBudget.consumeWithDebt(size) : sendBudget.tryConsume(size);
+	}
+
+	private ActivityTracker.Activity updateActivity()
+	{
+		final int tick = client.getTickCount();
+		final Player local = client.getLocalPlayer();
+
+		// Only players & npcs with a combat level count, talking to npcs or fishing at a fishing spot doesn't
+		final Actor target = local.getInteracting();
+		if (target instanceof Player || (target instanceof NPC && ((NPC) target).getCombatLevel() > 0))
+		{
+			activityTracker.combat(tick);
+		}
+
+		if (client.isPrayerActive(Prayer.PROTECT_FROM_MELEE)
+				|| client.isPrayerActive(Prayer.PROTECT_FROM_MISSILES)
+				|| client.isPrayerActive(Prayer.PROTECT_FROM_MAGIC))
+		{
+			activityTracker.combat(tick);
+		}
+
+		final WorldPoint location = local.getWorldLocation();
+		if (!Objects.equals(location, lastLocation))
+		{
+			lastLocation = location;
+			activityTracker.active(tick);
+		}
+
+		return activityTracker.update(tick);
+	}
+
+	@Subscribe
+	public void onHitsplatApplied(final HitsplatApplied event)
+	{
+		if (event.getActor() == client.getLocalPlayer() || event.getHitsplat().isMine())
+		{
+			activityTracker.combat(client.getTickCount());
+		}
 	}
 
 	private void updateSpellbook()
 	{
 		int spellbook = client.getVarbitValue(VarbitID.SPELLBOOK);
 		myPlayer.setSpellbook(spellbook);
-		currentChange.getM().add(new PartyMiscChange(PartyMiscChange.PartyMisc.SP, spellbook));
+		currentChange.addMisc(PartyMiscChange.PartyMisc.SP, spellbook);
+		snapshot.addMisc(PartyMiscChange.PartyMisc.SP, spellbook);
 	}
 }
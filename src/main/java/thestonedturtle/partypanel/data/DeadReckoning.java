@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data;
+
+/**
+ * Extrapolates a value which changes at a steady rate, such as run energy regenerating or prayer points draining,
+ * from the last two values a member sent. The sender runs the same extrapolation over what it sent, so it only needs
+ * to send a new value once the actual value strays from what the other members are displaying.
+ * <p>
+ * Ticks are always the sending member's tick count. Receivers sample on the websocket thread and predict on the client thread.
+ */
+public class DeadReckoning
+{
+	// Values are only extrapolated for this many ticks after they were sent and then held until the sender, which resends
+	// the actual value as soon as the extrapolation expires, catches them up
+	public static final int MAX_TICKS = 50;
+	// Fastest run energy & prayer points change per tick without a one off change such as drinking a potion
+	public static final double RUN_ENERGY_MAX_RATE = 2;
+	public static final double PRAYER_MAX_RATE = 3;
+
+	private final double maxRate; // Faster changes are one offs so aren't extrapolated
+
+	private boolean sampled;
+	private int value;
+	private int tick;
+	private double rate; // Change per tick
+
+	public DeadReckoning(final double maxRate)
+	{
+		this.maxRate = maxRate;
+	}
+
+	public synchronized void sample(final int value, final int tick)
+	{
+		final int elapsed = tick - this.tick;
+		if (sampled && elapsed > 0 && elapsed <= MAX_TICKS)
+		{
+			final double r = (double) (value - this.value) / elapsed;
+			rate = Math.abs(r) <= maxRate ? r : 0;
+		}
+		else
+		{
+			rate = 0;
+		}
+
+		this.sampled = true;
+		this.value = value;
+		this.tick = tick;
+	}
+
+	public synchronized boolean isSampled()
+	{
+		return sampled;
+	}
+
+	public synchronized boolean isExtrapolating(final int tick)
+	{
+		final int elapsed = tick - this.tick;
+		return sampled && rate != 0 && elapsed > 0 && elapsed < MAX_TICKS;
+	}
+
+	/**
+	 * @return true once the value has been extrapolated for {@link #MAX_TICKS}, the sender should send the actual value
+	 */
+	public synchronized boolean isExpired(final int tick)
+	{
+		return sampled && rate != 0 && tick - this.tick >= MAX_TICKS;
+	}
+
+	/**
+	 * @return the extrapolated value, held at the value it reached after {@link #MAX_TICKS} once expired
+	 */
+	public synchronized int predict(final int tick, final int max)
+	{
+		final int elapsed = Math.min(tick - this.tick, MAX_TICKS);
+		if (!sampled || rate == 0 || elapsed <= 0)
+		{
+			return value;
+		}
+
+		// Rounded towards the last value sent so the prediction never gets ahead of the actual value
+		final int predicted = value + (int) (rate * elapsed);
+		return Math.max(0, Math.min(max, predicted));
+	}
+
+	public synchronized void reset()
+	{
+		sampled = false;
+		value = 0;
+		tick = 0;
+		rate = 0;
+	}
+}
@@ -24,6 +24,8 @@
  */
 package thestonedturtle.partypanel.data;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.AllArgsConstructor;
 import lombok.Value;
 import net.runelite.api.Item;
@@ -35,6 +37,11 @@ import net.runelite.client.util.QuantityFormatter;
 @AllArgsConstructor
 public class GameItem
 {
+	// Containers are rebuilt on every change from any member, but only ever hold a few hundred distinct items
+	private static final Cache<Integer, ItemInfo> ITEM_INFO = CacheBuilder.newBuilder()
+			.maximumSize(1024)
+			.build();
+
 	int id;
 	int qty;
 	String name;
@@ -51,11 +58,36 @@ public class GameItem
 		this.id = id;
 		this.qty = qty;
 
-		final ItemComposition c = itemManager.getItemComposition(id);
+		ItemInfo info = ITEM_INFO.getIfPresent(id);
+		if (info == null)
+		{
+			final ItemComposition c = itemManager.getItemComposition(id);
+			final int priceId = c.getNote() != -1 ? c.getLinkedNoteId() : id;
+			info = new ItemInfo(c.getName(), c.isStackable(), priceId, itemManager.getItemPrice(priceId));
+			ITEM_INFO.put(id, info);
+		}
+		// Prices may not have loaded when the item was first resolved, so only the price is looked up again until it has one
+		else if (info.getPrice() == 0)
+		{
+			final int price = itemManager.getItemPrice(info.getPriceId());
+			if (price != 0)
+			{
+				info = new ItemInfo(info.getName(), info.isStackable(), info.getPriceId(), price);
+				ITEM_INFO.put(id, info);
+			}
+		}
 
-		this.name = c.getName();
-		this.stackable = c.isStackable();
-		this.price = itemManager.getItemPrice(c.getNote() != -1 ? c.getLinkedNoteId() : id);
+		this.name = info.getName();
+		this.stackable = info.isStackable();
+		this.price = info.getPrice();
+	}
+
+	/**
+	 * Forgets every resolved item, so names & prices are looked up again, e.g. after prices have been refreshed
+	 */
+	public static void clearItemInfo()
+	{
+		ITEM_INFO.invalidateAll();
 	}
 
 	public static GameItem[] convertItemsToGameItems(final int[] items, final ItemManager itemManager)
@@ -104,4 +136,13 @@ public class GameItem
 
 		return this.name + " x " + QuantityFormatter.formatNumber(this.qty);
 	}
+
+	@Value
+	private static class ItemInfo
+	{
+		String name;
+		boolean stackable;
+		int priceId; // Noted items use the price of the unnoted item
+		int price;
+	}
 }
@@ -60,6 +60,13 @@ public class PartyPlayer
 	// 0=Standard, 1=Ancient, 2=Lunar, 3=Arceuus
 	private int spellbook;
 
+	// Extrapolated between updates for display only, see DeadReckoning
+	private transient int tickOffset; // Member's tick count minus ours, as of their last update
+	private transient DeadReckoning runEnergyPrediction = new DeadReckoning(DeadReckoning.RUN_ENERGY_MAX_RATE);
+	private transient DeadReckoning prayerPrediction = new DeadReckoning(DeadReckoning.PRAYER_MAX_RATE);
+	private transient int predictedRunEnergy = -1; // -1 when not being extrapolated
+	private transient int predictedPrayer = -1;
+
 	public PartyPlayer(final PartyMember member)
 	{
 		this.member = member;
@@ -158,6 +165,26 @@ public class PartyPlayer
 		return stats.getBoostedLevels().get(skill);
 	}
 
+	public int getDisplayedRunEnergy()
+	{
+		if (predictedRunEnergy >= 0)
+		{
+			return predictedRunEnergy;
+		}
+
+		return stats == null ? 0 : stats.getRunEnergy();
+	}
+
+	public int getDisplayedPrayer()
+	{
+		if (predictedPrayer >= 0)
+		{
+			return predictedPrayer;
+		}
+
+		return getSkillBoostedLevel(Skill.PRAYER);
+	}
+
 	public int getSkillRealLevel(final Skill skill)
 	{
 		return getSkillRealLevel(skill, false);
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data;
+
+import net.runelite.api.Skill;
+import thestonedturtle.partypanel.data.events.PartyMiscChange;
+
+/**
+ * Bit-packed parts of a {@link PartyPlayer} modified by a batch, used to only update the affected UI components
+ */
+public class PlayerChanges
+{
+	public static final int INVENTORY = 1; // Inventory & rune pouch
+	public static final int EQUIPMENT = 1 << 1; // Equipment & quiver
+	public static final int SKILLS = 1 << 2; // Skill levels & total level
+	public static final int PRAYERS = 1 << 3; // Prayer states & remaining prayer points
+	public static final int BANNER_STATS = 1 << 4; // Hitpoints, prayer, special attack & run energy labels
+	public static final int HEART = 1 << 5; // Poison, venom & disease
+	public static final int STAMINA = 1 << 6;
+	public static final int BANNER = 1 << 7; // Requires the banner to be recreated, username, world, combat level & spellbook
+
+	public static final int ALL = (1 << 8) - 1;
+
+	private static final int HITPOINTS_ORDINAL = Skill.HITPOINTS.ordinal();
+	private static final int PRAYER_ORDINAL = Skill.PRAYER.ordinal();
+
+	public static int forSkill(final int skillOrdinal)
+	{
+		if (skillOrdinal == HITPOINTS_ORDINAL)
+		{
+			return SKILLS | BANNER_STATS;
+		}
+
+		if (skillOrdinal == PRAYER_ORDINAL)
+		{
+			return SKILLS | BANNER_STATS | PRAYERS;
+		}
+
+		return SKILLS;
+	}
+
+	public static int forMisc(final PartyMiscChange.PartyMisc type)
+	{
+		switch (type)
+		{
+			case S:
+			case R:
+				return BANNER_STATS;
+			case T:
+				return SKILLS;
+			case ST:
+				return STAMINA;
+			case P:
+			case D:
+				return HEART;
+			case C:
+			case W:
+			case U:
+			case SP:
+				return BANNER;
+			default:
+				return 0;
+		}
+	}
+}
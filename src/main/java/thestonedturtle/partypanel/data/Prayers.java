@@ -26,6 +26,7 @@ package thestonedturtle.partypanel.data;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Predicate;
 import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.EnumComposition;
@@ -47,10 +48,12 @@ public class Prayers
 	 * </ul>
 	 */
 	public static final int PRAYER_IS_AVAILABLE = 464;
+	private static final PrayerSprites[] PRAYER_SPRITES = PrayerSprites.values();
 
 	@Getter
 	private final Map<Prayer, PrayerData> prayerData = new HashMap<>();
-	private int[] prayerIds = new int[0];
+	// Jagex prayer ids, indexed by which of deadeye & mystic vigour are unlocked
+	private final int[][] prayerIdsByUnlocks = new int[4][];
 
 	public Prayers()
 	{
@@ -65,25 +68,56 @@ public class Prayers
 		// Initialize all prayers if created when logged in
 		if (client.getLocalPlayer() != null)
 		{
-			for (final PrayerSprites p : PrayerSprites.values())
-			{
-				updatePrayerState(p, client);
-			}
+			updatePrayerStates(client);
 		}
-		else
+	}
+
+	/**
+	 * @return true if any prayer changed
+	 */
+	public boolean updatePrayerStates(final Client client)
+	{
+		boolean changed = false;
+		for (final PrayerSprites p : PRAYER_SPRITES)
 		{
-			setCurrentPrayerIds(client);
+			changed = updatePrayerState(p, client) || changed;
 		}
+		return changed;
 	}
 
-	public boolean updatePrayerState(final PrayerSprites p, final Client client)
+	// Masks are bit-packed by prayer ordinal, the same as PartyBatchedChange#pack
+	public int getAvailableMask()
 	{
-		if (prayerIds.length == 0)
+		return mask(PrayerData::isAvailable);
+	}
+
+	public int getEnabledMask()
+	{
+		return mask(PrayerData::isEnabled);
+	}
+
+	public int getUnlockedMask()
+	{
+		return mask(PrayerData::isUnlocked);
+	}
+
+	private int mask(final Predicate<PrayerData> predicate)
+	{
+		int mask = 0;
+		for (final PrayerSprites p : PRAYER_SPRITES)
 		{
-			setCurrentPrayerIds(client);
+			final PrayerData data = prayerData.get(p.getPrayer());
+			if (data != null && predicate.test(data))
+			{
+				mask |= 1 << p.getPrayer().ordinal();
+			}
 		}
+		return mask;
+	}
 
-		assert prayerIds.length > 0;
+	public boolean updatePrayerState(final PrayerSprites p, final Client client)
+	{
+		final int[] prayerIds = getPrayerIds(client);
 		boolean changed, available, enabled, unlocked;
 
 		PrayerData data = prayerData.get(p.getPrayer());
@@ -112,23 +146,30 @@ public class Prayers
 			changed = data.isAvailable() != available || data.isEnabled() != enabled || data.isUnlocked() != unlocked;
 			data.setAvailable(available);
 			data.setEnabled(enabled);
+			data.setUnlocked(unlocked);
 		}
 
 		prayerData.put(data.getPrayer(), data);
 		return changed;
 	}
 
-	private void setCurrentPrayerIds(Client client)
+	private int[] getPrayerIds(Client client)
 	{
-		final EnumComposition prayers = getPrayerEnum(client);
-		this.prayerIds = prayers.getIntVals();
+		final boolean deadeye = client.getVarbitValue(Varbits.PRAYER_DEADEYE_UNLOCKED) != 0;
+		final boolean vigour = client.getVarbitValue(Varbits.PRAYER_MYSTIC_VIGOUR_UNLOCKED) != 0;
+		final int idx = (deadeye ? 1 : 0) | (vigour ? 2 : 0);
+
+		// The enum only changes when deadeye or mystic vigour are unlocked so there is no need to fetch it again
+		if (prayerIdsByUnlocks[idx] == null)
+		{
+			prayerIdsByUnlocks[idx] = getPrayerEnum(deadeye, vigour, client).getIntVals();
+		}
+
+		return prayerIdsByUnlocks[idx];
 	}
 
-	private EnumComposition getPrayerEnum(Client client)
+	private static EnumComposition getPrayerEnum(boolean deadeye, boolean vigour, Client client)
 	{
-		boolean deadeye = client.getVarbitValue(Varbits.PRAYER_DEADEYE_UNLOCKED) != 0;
-		boolean vigour = client.getVarbitValue(Varbits.PRAYER_MYSTIC_VIGOUR_UNLOCKED) != 0;
-
 		if (deadeye && vigour)
 		{
 			return client.getEnum(EnumID.PRAYERS_NORMAL_DEADEYE_MYSTIC_VIGOUR);
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data;
+
+import net.runelite.api.Skill;
+import thestonedturtle.partypanel.ui.prayer.PrayerSprites;
+
+/**
+ * Hashes each section of a {@link PartyPlayer} so members can cheaply check whether their view of
+ * another member has drifted from what that member actually has, and only resync the sections that differ.
+ */
+public class StateDigest
+{
+	// Sections, also used as the index into the digest
+	public static final int INVENTORY = 0; // Inventory & rune pouch
+	public static final int EQUIPMENT = 1; // Equipment & quiver ammo
+	public static final int STATS = 2; // Base & boosted levels
+	public static final int PRAYERS = 3; // Available, enabled & unlocked prayers
+	public static final int MISC = 4; // Everything sent as a PartyMiscChange, except values which may be held back by a MiscPolicy
+	public static final int SECTION_COUNT = 5;
+
+	public static final int ALL_SECTIONS = (1 << SECTION_COUNT) - 1;
+	// Digest of a section the member doesn't publish, never reported as a mismatch
+	public static final int UNPUBLISHED = Integer.MIN_VALUE;
+
+	private static final Skill[] SKILLS = Skill.values();
+	private static final PrayerSprites[] PRAYERS_SPRITES = PrayerSprites.values();
+
+	/**
+	 * @param sections bit-packed sections the player publishes, the rest are digested as {@link #UNPUBLISHED}
+	 */
+	public static int[] compute(final PartyPlayer p, final int sections)
+	{
+		final int[] digest = compute(p);
+		for (int idx = 0; idx < SECTION_COUNT; idx++)
+		{
+			if ((sections & (1 << idx)) == 0)
+			{
+				digest[idx] = UNPUBLISHED;
+			}
+		}
+		return digest;
+	}
+
+	public static int[] compute(final PartyPlayer p)
+	{
+		final int[] digest = new int[SECTION_COUNT];
+		digest[INVENTORY] = 31 * hashItems(p.getInventory()) + hashItems(p.getRunesInPouch());
+
+		final GameItem ammo = p.getQuiver().getQuiverAmmo();
+		digest[EQUIPMENT] = 31 * hashItems(p.getEquipment()) + (ammo == null ? 0 : 31 * ammo.getId() + ammo.getQty());
+
+		int stats = 0;
+		if (p.getStats() != null)
+		{
+			for (final Skill s : SKILLS)
+			{
+				stats = 31 * stats + p.getStats().getBaseLevels().getOrDefault(s, 0);
+				// Prayer points are only resent once members' extrapolation strays from them, see DeadReckoning
+				if (s != Skill.PRAYER)
+				{
+					stats = 31 * stats + p.getStats().getBoostedLevels().getOrDefault(s, 0);
+				}
+			}
+		}
+		digest[STATS] = stats;
+
+		int available = 0;
+		int enabled = 0;
+		int unlocked = 0;
+		if (p.getPrayers() != null)
+		{
+			for (final PrayerSprites sprite : PRAYERS_SPRITES)
+			{
+				final PrayerData data = p.getPrayers().getPrayerData().get(sprite.getPrayer());
+				final int bit = 1 << sprite.getPrayer().ordinal();
+				available |= data != null && data.isAvailable() ? bit : 0;
+				enabled |= data != null && data.isEnabled() ? bit : 0;
+				unlocked |= data != null && data.isUnlocked() ? bit : 0;
+			}
+		}
+		digest[PRAYERS] = 31 * (31 * available + enabled) + unlocked;
+
+		// Special attack, run energy & stamina can lag behind by design so aren't included
+		int misc = 0;
+		if (p.getStats() != null)
+		{
+			misc = 31 * misc + p.getStats().getCombatLevel();
+			misc = 31 * misc + p.getStats().getTotalLevel();
+		}
+		misc = 31 * misc + p.getPoison();
+		misc = 31 * misc + p.getDisease();
+		misc = 31 * misc + p.getWorld();
+		misc = 31 * misc + p.getSpellbook();
+		misc = 31 * misc + (p.getUsername() == null ? 0 : p.getUsername().hashCode());
+		digest[MISC] = misc;
+
+		return digest;
+	}
+
+	/**
+	 * @return a bitmask of the sections, by index, which don't match
+	 */
+	public static int mismatches(final int[] expected, final int[] actual)
+	{
+		int mask = 0;
+		for (int idx = 0; idx < SECTION_COUNT; idx++)
+		{
+			if (idx < expected.length && expected[idx] == UNPUBLISHED)
+			{
+				continue;
+			}
+
+			if (idx >= expected.length || idx >= actual.length || expected[idx] != actual[idx])
+			{
+				mask |= 1 << idx;
+			}
+		}
+		return mask;
+	}
+
+	// Only occupied slots are hashed so trailing empty slots don't matter
+	private static int hashItems(final GameItem[] items)
+	{
+		int hash = 0;
+		if (items == null)
+		{
+			return hash;
+		}
+
+		for (int slot = 0; slot < items.length; slot++)
+		{
+			final GameItem item = items[slot];
+			if (item == null || item.getQty() <= 0)
+			{
+				continue;
+			}
+
+			hash = 31 * hash + slot;
+			hash = 31 * hash + item.getId();
+			hash = 31 * hash + item.getQty();
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Tracks what the local player is doing so changes can be sent more often while their state changes quickly
+ */
+public class ActivityTracker
+{
+	// Ticks after the last combat signal before the player is no longer considered in combat
+	private static final int COMBAT_TIMEOUT = 10;
+	// Ticks after the last movement or combat before the player is considered idle
+	private static final int ACTIVE_TIMEOUT = 25;
+	private static final int NEVER = Integer.MIN_VALUE / 2;
+
+	@Getter
+	@AllArgsConstructor
+	public enum Activity
+	{
+		COMBAT(1),
+		ACTIVE(2),
+		IDLE(5); // Includes skilling & banking, where nothing but the inventory changes
+
+		private final int sendPeriod; // Ticks between sends of larger batches
+	}
+
+	private int lastCombatTick = NEVER;
+	private int lastActiveTick = NEVER;
+
+	@Getter
+	private Activity activity = Activity.ACTIVE;
+
+	// Hitsplats, hitpoint loss, attacking a target or protection prayers
+	public void combat(final int tick)
+	{
+		lastCombatTick = tick;
+		active(tick);
+	}
+
+	// Moving, or anything else which isn't combat but is likely to be followed by more changes
+	public void active(final int tick)
+	{
+		lastActiveTick = tick;
+	}
+
+	public Activity update(final int tick)
+	{
+		if (isWithin(tick, lastCombatTick, COMBAT_TIMEOUT))
+		{
+			activity = Activity.COMBAT;
+		}
+		else if (isWithin(tick, lastActiveTick, ACTIVE_TIMEOUT))
+		{
+			activity = Activity.ACTIVE;
+		}
+		else
+		{
+			activity = Activity.IDLE;
+		}
+		return activity;
+	}
+
+	public void reset()
+	{
+		lastCombatTick = NEVER;
+		lastActiveTick = NEVER;
+		activity = Activity.ACTIVE;
+	}
+
+	// The tick count restarts when logging in, so ticks from before then are treated as long ago
+	private static boolean isWithin(final int tick, final int lastTick, final int timeout)
+	{
+		return lastTick <= tick && tick - lastTick <= timeout;
+	}
+}
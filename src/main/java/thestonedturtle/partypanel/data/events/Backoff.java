@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter, spreads out members resending their state when the party connection keeps
+ * dropping instead of every member resending at the same moment each time it comes back
+ */
+public class Backoff
+{
+	private final long baseMillis;
+	private final long maxMillis;
+	private final long resetMillis; // Attempts are forgotten once this long has passed without one
+
+	private int attempts;
+	private long lastAttempt;
+
+	public Backoff(final long baseMillis, final long maxMillis, final long resetMillis)
+	{
+		this.baseMillis = baseMillis;
+		this.maxMillis = maxMillis;
+		this.resetMillis = resetMillis;
+	}
+
+	/**
+	 * @return how long to wait before the next attempt, somewhere between half and all of the backoff
+	 */
+	public long nextDelay(final long now)
+	{
+		if (now - lastAttempt > resetMillis)
+		{
+			attempts = 0;
+		}
+
+		final long delay = Math.min(maxMillis, baseMillis << Math.min(attempts, 16));
+		attempts++;
+		lastAttempt = now;
+		return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+	}
+
+	public void reset()
+	{
+		attempts = 0;
+		lastAttempt = 0;
+	}
+}
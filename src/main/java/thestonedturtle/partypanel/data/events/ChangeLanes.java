@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import lombok.Getter;
+import net.runelite.api.Skill;
+import thestonedturtle.partypanel.data.StateDigest;
+
+/**
+ * The local player's changes waiting to be sent. Vitals wait in an urgent lane which is sent every tick, everything else
+ * waits in a bulk lane which is only sent when there is enough of the bandwidth budget for it.
+ * <p>
+ * Each field only ever waits in one lane at a time, so an older value waiting in one lane can't be sent after a newer
+ * value of the same field sent from the other lane.
+ */
+public class ChangeLanes
+{
+	private static final long URGENT_SKILLS = 1L << Skill.HITPOINTS.ordinal() | 1L << Skill.PRAYER.ordinal();
+	private static final int URGENT_MISC = 1 << PartyMiscChange.PartyMisc.S.ordinal()
+			| 1 << PartyMiscChange.PartyMisc.P.ordinal()
+			| 1 << PartyMiscChange.PartyMisc.D.ordinal();
+
+	@Getter
+	private final PartyBatchBuilder urgent = new PartyBatchBuilder();
+	@Getter
+	private final PartyBatchBuilder bulk = new PartyBatchBuilder();
+
+	public void addStat(final Skill skill, final int level, final int boostedLevel)
+	{
+		final PartyBatchBuilder lane = (URGENT_SKILLS & (1L << skill.ordinal())) != 0 ? urgent : bulk;
+		lane.addStat(skill.ordinal(), level, boostedLevel);
+	}
+
+	public void addMisc(final PartyMiscChange.PartyMisc type, final int value)
+	{
+		// Values which were expedited stay in the urgent lane until it is sent
+		final PartyBatchBuilder lane = (URGENT_MISC & (1 << type.ordinal())) != 0 || urgent.hasMisc(type) ? urgent : bulk;
+		lane.addMisc(type, value);
+	}
+
+	/**
+	 * Sends the value with the next urgent batch instead of its usual lane, for values which can't wait for the budget
+	 */
+	public void expediteMisc(final PartyMiscChange.PartyMisc type, final int value)
+	{
+		bulk.removeMisc(type);
+		urgent.addMisc(type, value);
+	}
+
+	/**
+	 * Merges the urgent lane into the bulk lane while nothing can be sent, which keeps only the latest value of each
+	 * field so everything that changed in the meantime can be sent as a single batch once reconnected
+	 */
+	public void hold()
+	{
+		bulk.addAll(urgent);
+		urgent.reset();
+	}
+
+	/**
+	 * @param sendBulk whether the bulk lane should be sent, the urgent lane is always sent
+	 * @return the batch to send, or null if there is nothing to send
+	 */
+	public PartyBatchedChange poll(final boolean sendBulk)
+	{
+		if (sendBulk && !bulk.isEmpty())
+		{
+			hold();
+			final PartyBatchedChange c = bulk.build();
+			bulk.reset();
+			return c;
+		}
+
+		if (!urgent.isEmpty())
+		{
+			final PartyBatchedChange c = urgent.build();
+			urgent.reset();
+			return c;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Drops waiting changes to sections which aren't in the mask, the skills in keepSkills are kept regardless
+	 *
+	 * @param sections sections to keep, bit-packed by StateDigest section
+	 * @return the sections which had changes dropped, bit-packed by StateDigest section
+	 */
+	public int removeSections(final int sections, final long keepSkills)
+	{
+		int removed = 0;
+		if ((sections & 1 << StateDigest.INVENTORY) == 0 && bulk.removeInventory())
+		{
+			removed |= 1 << StateDigest.INVENTORY;
+		}
+
+		if ((sections & 1 << StateDigest.EQUIPMENT) == 0 && bulk.removeEquipment())
+		{
+			removed |= 1 << StateDigest.EQUIPMENT;
+		}
+
+		if ((sections & 1 << StateDigest.STATS) == 0 && bulk.removeStats(keepSkills))
+		{
+			removed |= 1 << StateDigest.STATS;
+		}
+
+		if ((sections & 1 << StateDigest.PRAYERS) == 0 && bulk.removePrayers())
+		{
+			removed |= 1 << StateDigest.PRAYERS;
+		}
+		return removed;
+	}
+
+	public boolean isEmpty()
+	{
+		return urgent.isEmpty() && bulk.isEmpty();
+	}
+
+	public void reset()
+	{
+		urgent.reset();
+		bulk.reset();
+	}
+}
@@ -0,0 +1,618 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import net.runelite.api.Skill;
+
+/**
+ * Packs a {@link PartyBatchedChange} into a single byte payload.
+ * <p>
+ * The payload starts with a format byte followed by a varint bitmap of the sections that are present.
+ * Each present section follows in bitmap order. Integers are written as varints, skills and misc values
+ * are written in fixed ordinal positions behind their own presence bitmap so no keys are sent.
+ * Every misc value other than the username is a signed varint, so types added later can be skipped by older members.
+ * <p>
+ * Payloads larger than {@link #COMPRESSION_THRESHOLD}, such as full player updates, have everything after
+ * the format byte deflated and the {@link #DEFLATED} bit set on the format byte.
+ */
+public class CompactChangeCodec
+{
+	static final int FORMAT_VERSION = 1;
+	static final int DEFLATED = 0x80;
+
+	// Small deltas don't compress well enough to be worth the deflate header & checksum
+	static final int COMPRESSION_THRESHOLD = 128;
+	// Guard against malicious payloads that inflate to something huge
+	private static final int MAX_INFLATED_SIZE = 64 * 1024;
+
+	private static final int SKILL_COUNT = Skill.values().length;
+	private static final PartyMiscChange.PartyMisc[] MISC_TYPES = PartyMiscChange.PartyMisc.values();
+
+	// Section presence bits
+	private static final int INVENTORY = 1;
+	private static final int EQUIPMENT = 1 << 1;
+	private static final int INVENTORY_DELTA = 1 << 2;
+	private static final int EQUIPMENT_DELTA = 1 << 3;
+	private static final int INVENTORY_QTY_DELTA = 1 << 4;
+	private static final int EQUIPMENT_QTY_DELTA = 1 << 5;
+	private static final int STATS = 1 << 6;
+	private static final int MISC = 1 << 7;
+	private static final int AVAILABLE_PRAYERS = 1 << 8;
+	private static final int ENABLED_PRAYERS = 1 << 9;
+	private static final int UNLOCKED_PRAYERS = 1 << 10;
+	private static final int RUNE_POUCH = 1 << 11;
+	private static final int QUIVER = 1 << 12;
+	private static final int SEQUENCE = 1 << 13;
+
+	public static byte[] encode(final PartyBatchedChange c)
+	{
+		return encode(c, true);
+	}
+
+	/**
+	 * @param allowDeflate whether the payload can be deflated, only members who support {@link PartyCapabilities#DEFLATE} can read deflated payloads
+	 */
+	public static byte[] encode(final PartyBatchedChange c, final boolean allowDeflate)
+	{
+		// Fold both the list & columnar stat/misc changes into fixed positions, later values win
+		long skills = c.getSm();
+		final int[] levels = c.getSl() == null ? new int[SKILL_COUNT] : Arrays.copyOf(c.getSl(), SKILL_COUNT);
+		final int[] boosts = c.getSb() == null ? new int[SKILL_COUNT] : Arrays.copyOf(c.getSb(), SKILL_COUNT);
+		if (c.getS() != null)
+		{
+			for (final PartyStatChange s : c.getS())
+			{
+				skills |= 1L << s.getS();
+				levels[s.getS()] = s.getL();
+				boosts[s.getS()] = s.getB();
+			}
+		}
+
+		int misc = c.getMm();
+		final int[] miscValues = c.getMv() == null ? new int[MISC_TYPES.length] : Arrays.copyOf(c.getMv(), MISC_TYPES.length);
+		String username = c.getMu();
+		if (c.getM() != null)
+		{
+			for (final PartyMiscChange m : c.getM())
+			{
+				misc |= 1 << m.getT().ordinal();
+				if (m.getT() == PartyMiscChange.PartyMisc.U)
+				{
+					username = m.getS();
+				}
+				else
+				{
+					miscValues[m.getT().ordinal()] = m.getV() == null ? 0 : m.getV();
+				}
+			}
+		}
+
+		int sections = 0;
+		sections |= c.getI() != null ? INVENTORY : 0;
+		sections |= c.getE() != null ? EQUIPMENT : 0;
+		sections |= c.getDi() != null ? INVENTORY_DELTA : 0;
+		sections |= c.getDe() != null ? EQUIPMENT_DELTA : 0;
+		sections |= c.getQi() != null ? INVENTORY_QTY_DELTA : 0;
+		sections |= c.getQe() != null ? EQUIPMENT_QTY_DELTA : 0;
+		sections |= skills != 0 ? STATS : 0;
+		sections |= misc != 0 ? MISC : 0;
+		sections |= c.getAp() != null ? AVAILABLE_PRAYERS : 0;
+		sections |= c.getEp() != null ? ENABLED_PRAYERS : 0;
+		sections |= c.getUp() != null ? UNLOCKED_PRAYERS : 0;
+		sections |= c.getRp() != null ? RUNE_POUCH : 0;
+		sections |= c.getQ() != null ? QUIVER : 0;
+		sections |= c.getSq() != 0 ? SEQUENCE : 0;
+
+		final Writer w = new Writer();
+		w.writeByte(FORMAT_VERSION);
+		w.writeVarInt(sections);
+
+		if (c.getI() != null)
+		{
+			w.writeItems(c.getI());
+		}
+		if (c.getE() != null)
+		{
+			w.writeItems(c.getE());
+		}
+		if (c.getDi() != null)
+		{
+			w.writeItemDelta(c.getDi());
+		}
+		if (c.getDe() != null)
+		{
+			w.writeItemDelta(c.getDe());
+		}
+		if (c.getQi() != null)
+		{
+			w.writeVarInts(c.getQi());
+		}
+		if (c.getQe() != null)
+		{
+			w.writeVarInts(c.getQe());
+		}
+
+		if (skills != 0)
+		{
+			w.writeVarLong(skills);
+			for (int idx = 0; idx < SKILL_COUNT; idx++)
+			{
+				if ((skills & (1L << idx)) != 0)
+				{
+					w.writeVarInt(levels[idx]);
+					w.writeVarInt(boosts[idx]);
+				}
+			}
+		}
+
+		if (misc != 0)
+		{
+			w.writeVarInt(misc);
+			for (final PartyMiscChange.PartyMisc type : MISC_TYPES)
+			{
+				if ((misc & (1 << type.ordinal())) == 0)
+				{
+					continue;
+				}
+
+				if (type == PartyMiscChange.PartyMisc.U)
+				{
+					w.writeString(username);
+				}
+				else
+				{
+					// Poison & disease use negative values for immunity
+					w.writeSignedVarInt(miscValues[type.ordinal()]);
+				}
+			}
+		}
+
+		if (c.getAp() != null)
+		{
+			w.writeVarInt(c.getAp());
+		}
+		if (c.getEp() != null)
+		{
+			w.writeVarInt(c.getEp());
+		}
+		if (c.getUp() != null)
+		{
+			w.writeVarInt(c.getUp());
+		}
+		if (c.getRp() != null)
+		{
+			w.writeVarInts(c.getRp());
+		}
+		if (c.getQ() != null)
+		{
+			w.writeVarInts(c.getQ());
+		}
+		if (c.getSq() != 0)
+		{
+			w.writeVarInt(c.getSq());
+			w.writeVarInt(c.getTk());
+		}
+
+		final byte[] payload = w.toByteArray();
+		return allowDeflate && payload.length >= COMPRESSION_THRESHOLD ? deflate(payload) : payload;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the payload is malformed or of an unknown format
+	 */
+	public static PartyBatchedChange decode(byte[] payload)
+	{
+		if (payload.length > 0 && (payload[0] & DEFLATED) != 0)
+		{
+			payload = inflate(payload);
+		}
+
+		final Reader r = new Reader(payload);
+		final int format = r.readByte();
+		if (format != FORMAT_VERSION)
+		{
+			throw new IllegalArgumentException("Unknown compact change format: " + format);
+		}
+
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setS(null);
+		c.setM(null);
+
+		final int sections = r.readVarInt();
+		if ((sections & INVENTORY) != 0)
+		{
+			c.setI(r.readItems());
+		}
+		if ((sections & EQUIPMENT) != 0)
+		{
+			c.setE(r.readItems());
+		}
+		if ((sections & INVENTORY_DELTA) != 0)
+		{
+			c.setDi(r.readItemDelta());
+		}
+		if ((sections & EQUIPMENT_DELTA) != 0)
+		{
+			c.setDe(r.readItemDelta());
+		}
+		if ((sections & INVENTORY_QTY_DELTA) != 0)
+		{
+			c.setQi(r.readVarInts());
+		}
+		if ((sections & EQUIPMENT_QTY_DELTA) != 0)
+		{
+			c.setQe(r.readVarInts());
+		}
+
+		if ((sections & STATS) != 0)
+		{
+			final long skills = r.readVarLong();
+			final int[] levels = new int[SKILL_COUNT];
+			final int[] boosts = new int[SKILL_COUNT];
+			for (int idx = 0; idx < 64; idx++)
+			{
+				if ((skills & (1L << idx)) == 0)
+				{
+					continue;
+				}
+
+				final int level = r.readVarInt();
+				final int boost = r.readVarInt();
+				// Skip skills added in a newer client that we don't know about yet
+				if (idx < SKILL_COUNT)
+				{
+					levels[idx] = level;
+					boosts[idx] = boost;
+				}
+			}
+
+			c.setSm(skills & ((1L << SKILL_COUNT) - 1));
+			c.setSl(levels);
+			c.setSb(boosts);
+		}
+
+		if ((sections & MISC) != 0)
+		{
+			final int misc = r.readVarInt();
+			final int[] values = new int[MISC_TYPES.length];
+			for (int idx = 0; idx < 32; idx++)
+			{
+				if ((misc & (1 << idx)) == 0)
+				{
+					continue;
+				}
+
+				if (idx == PartyMiscChange.PartyMisc.U.ordinal())
+				{
+					c.setMu(r.readString());
+				}
+				else
+				{
+					final int value = r.readSignedVarInt();
+					// Skip misc types added in a newer client that we don't know about yet
+					if (idx < MISC_TYPES.length)
+					{
+						values[idx] = value;
+					}
+				}
+			}
+
+			c.setMm(misc & ((1 << MISC_TYPES.length) - 1));
+			c.setMv(values);
+		}
+
+		if ((sections & AVAILABLE_PRAYERS) != 0)
+		{
+			c.setAp(r.readVarInt());
+		}
+		if ((sections & ENABLED_PRAYERS) != 0)
+		{
+			c.setEp(r.readVarInt());
+		}
+		if ((sections & UNLOCKED_PRAYERS) != 0)
+		{
+			c.setUp(r.readVarInt());
+		}
+		if ((sections & RUNE_POUCH) != 0)
+		{
+			c.setRp(r.readVarInts());
+		}
+		if ((sections & QUIVER) != 0)
+		{
+			c.setQ(r.readVarInts());
+		}
+		if ((sections & SEQUENCE) != 0)
+		{
+			c.setSq(r.readVarInt());
+			c.setTk(r.readVarInt());
+		}
+
+		return c;
+	}
+
+	// Returns the original payload if deflating doesn't make it smaller
+	private static byte[] deflate(final byte[] payload)
+	{
+		final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		deflater.setInput(payload, 1, payload.length - 1);
+		deflater.finish();
+
+		final byte[] out = new byte[payload.length];
+		out[0] = (byte) (payload[0] | DEFLATED);
+		int length = 1;
+		while (!deflater.finished() && length < out.length)
+		{
+			length += deflater.deflate(out, length, out.length - length);
+		}
+
+		final boolean smaller = deflater.finished() && length < payload.length;
+		deflater.end();
+		return smaller ? Arrays.copyOf(out, length) : payload;
+	}
+
+	private static byte[] inflate(final byte[] payload)
+	{
+		final Inflater inflater = new Inflater();
+		inflater.setInput(payload, 1, payload.length - 1);
+
+		byte[] out = new byte[Math.min(payload.length * 4, MAX_INFLATED_SIZE)];
+		out[0] = (byte) (payload[0] & ~DEFLATED);
+		int length = 1;
+		try
+		{
+			while (!inflater.finished())
+			{
+				if (length == out.length)
+				{
+					if (out.length >= MAX_INFLATED_SIZE)
+					{
+						throw new IllegalArgumentException("Compact change inflates past " + MAX_INFLATED_SIZE + " bytes");
+					}
+					out = Arrays.copyOf(out, Math.min(out.length * 2, MAX_INFLATED_SIZE));
+				}
+
+				final int read = inflater.inflate(out, length, out.length - length);
+				if (read == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+				{
+					throw new IllegalArgumentException("Compact change ended unexpectedly");
+				}
+				length += read;
+			}
+		}
+		catch (DataFormatException ex)
+		{
+			throw new IllegalArgumentException("Malformed compressed compact change", ex);
+		}
+		finally
+		{
+			inflater.end();
+		}
+
+		return Arrays.copyOf(out, length);
+	}
+
+	private static class Writer
+	{
+		private byte[] buf = new byte[64];
+		private int pos;
+
+		void writeByte(int b)
+		{
+			if (pos == buf.length)
+			{
+				buf = Arrays.copyOf(buf, buf.length * 2);
+			}
+			buf[pos++] = (byte) b;
+		}
+
+		// Negative values are written as unsigned and take 5 bytes
+		void writeVarInt(int v)
+		{
+			while ((v & ~0x7F) != 0)
+			{
+				writeByte((v & 0x7F) | 0x80);
+				v >>>= 7;
+			}
+			writeByte(v);
+		}
+
+		void writeSignedVarInt(int v)
+		{
+			writeVarInt((v << 1) ^ (v >> 31));
+		}
+
+		void writeVarLong(long v)
+		{
+			while ((v & ~0x7FL) != 0)
+			{
+				writeByte((int) ((v & 0x7F) | 0x80));
+				v >>>= 7;
+			}
+			writeByte((int) v);
+		}
+
+		void writeVarInts(int[] values)
+		{
+			writeVarInt(values.length);
+			for (final int v : values)
+			{
+				writeVarInt(v);
+			}
+		}
+
+		// Empty slots are -1 so shift the ids up by one, the qty is skipped for empty slots
+		void writeItems(int[] items)
+		{
+			writeVarInt(items.length / 2);
+			for (int idx = 0; idx + 1 < items.length; idx += 2)
+			{
+				writeVarInt(items[idx] + 1);
+				if (items[idx] != -1)
+				{
+					writeVarInt(items[idx + 1]);
+				}
+			}
+		}
+
+		void writeItemDelta(int[] delta)
+		{
+			writeVarInt(delta.length / 3);
+			for (int idx = 0; idx + 2 < delta.length; idx += 3)
+			{
+				writeVarInt(delta[idx]);
+				writeVarInt(delta[idx + 1] + 1);
+				writeVarInt(delta[idx + 2]);
+			}
+		}
+
+		void writeString(String s)
+		{
+			final byte[] bytes = s == null ? new byte[0] : s.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length);
+			for (final byte b : bytes)
+			{
+				writeByte(b);
+			}
+		}
+
+		byte[] toByteArray()
+		{
+			return Arrays.copyOf(buf, pos);
+		}
+	}
+
+	private static class Reader
+	{
+		private final byte[] buf;
+		private int pos;
+
+		Reader(byte[] buf)
+		{
+			this.buf = buf;
+		}
+
+		int readByte()
+		{
+			if (pos >= buf.length)
+			{
+				throw new IllegalArgumentException("Compact change ended unexpectedly");
+			}
+			return buf[pos++] & 0xFF;
+		}
+
+		int readVarInt()
+		{
+			int v = 0;
+			for (int shift = 0; shift < 35; shift += 7)
+			{
+				final int b = readByte();
+				v |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0)
+				{
+					return v;
+				}
+			}
+			throw new IllegalArgumentException("Malformed varint");
+		}
+
+		int readSignedVarInt()
+		{
+			final int v = readVarInt();
+			return (v >>> 1) ^ -(v & 1);
+		}
+
+		long readVarLong()
+		{
+			long v = 0;
+			for (int shift = 0; shift < 70; shift += 7)
+			{
+				final int b = readByte();
+				v |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0)
+				{
+					return v;
+				}
+			}
+			throw new IllegalArgumentException("Malformed varlong");
+		}
+
+		int readLength()
+		{
+			final int length = readVarInt();
+			// Every entry takes at least one byte, anything larger than the remaining payload is corrupt
+			if (length < 0 || length > buf.length - pos)
+			{
+				throw new IllegalArgumentException("Invalid length: " + length);
+			}
+			return length;
+		}
+
+		int[] readVarInts()
+		{
+			final int[] values = new int[readLength()];
+			for (int idx = 0; idx < values.length; idx++)
+			{
+				values[idx] = readVarInt();
+			}
+			return values;
+		}
+
+		int[] readItems()
+		{
+			final int[] items = new int[readLength() * 2];
+			for (int idx = 0; idx < items.length; idx += 2)
+			{
+				items[idx] = readVarInt() - 1;
+				items[idx + 1] = items[idx] == -1 ? 0 : readVarInt();
+			}
+			return items;
+		}
+
+		int[] readItemDelta()
+		{
+			final int[] delta = new int[readLength() * 3];
+			for (int idx = 0; idx < delta.length; idx += 3)
+			{
+				delta[idx] = readVarInt();
+				delta[idx + 1] = readVarInt() - 1;
+				delta[idx + 2] = readVarInt();
+			}
+			return delta;
+		}
+
+		String readString()
+		{
+			final int length = readLength();
+			final String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+			pos += length;
+			return s;
+		}
+	}
+}
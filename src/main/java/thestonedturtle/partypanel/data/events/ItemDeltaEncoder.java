@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import java.util.Arrays;
+
+/**
+ * Tracks the last item array sent for a single item container so that later changes
+ * can be sent as the individual slots that changed instead of the entire container.
+ */
+public class ItemDeltaEncoder
+{
+	// Send the full container every X deltas so any member who missed a delta eventually catches up
+	private static final int KEYFRAME_INTERVAL = 20;
+
+	private int[] lastSent;
+	private int deltasSinceKeyframe;
+
+	/**
+	 * Compares the items against the last sent items for this container
+	 *
+	 * @param items item array in the format of `PartyBatchedChange.i`
+	 * @return null if the full array should be sent, otherwise the (slot, id, qty) triples at index 0 and the
+	 * (slot, qty) pairs for slots where only the quantity changed at index 1
+	 */
+	public int[][] encode(final int[] items)
+	{
+		if (lastSent == null || lastSent.length != items.length || deltasSinceKeyframe >= KEYFRAME_INTERVAL)
+		{
+			reset(items);
+			return null;
+		}
+
+		int changed = 0;
+		int qtyChanged = 0;
+		for (int idx = 0; idx < items.length; idx += 2)
+		{
+			if (items[idx] != lastSent[idx])
+			{
+				changed++;
+			}
+			else if (items[idx + 1] != lastSent[idx + 1])
+			{
+				qtyChanged++;
+			}
+		}
+
+		// The delta would be larger than the container itself
+		if (changed * 3 + qtyChanged * 2 >= items.length)
+		{
+			reset(items);
+			return null;
+		}
+
+		final int[] delta = new int[changed * 3];
+		final int[] qty = new int[qtyChanged * 2];
+		int d = 0;
+		int q = 0;
+		for (int idx = 0; idx < items.length; idx += 2)
+		{
+			if (items[idx] != lastSent[idx])
+			{
+				delta[d++] = idx / 2;
+				delta[d++] = items[idx];
+				delta[d++] = items[idx + 1];
+			}
+			else if (items[idx + 1] != lastSent[idx + 1])
+			{
+				qty[q++] = idx / 2;
+				qty[q++] = items[idx + 1];
+			}
+		}
+
+		System.arraycopy(items, 0, lastSent, 0, items.length);
+		if (changed > 0 || qtyChanged > 0)
+		{
+			deltasSinceKeyframe++;
+		}
+
+		return new int[][] {delta, qty};
+	}
+
+	/**
+	 * @return true if the items are the same as the last items sent
+	 */
+	public boolean isUnchanged(final int[] items)
+	{
+		return Arrays.equals(items, lastSent);
+	}
+
+	/**
+	 * Marks the items as sent in full, e.g. as part of a full player update
+	 */
+	public void reset(final int[] items)
+	{
+		lastSent = items == null ? null : items.clone();
+		deltasSinceKeyframe = 0;
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+/**
+ * Decides whether a change to a noisy misc value is worth sending. Small changes are held back until they add up to
+ * the step size or the interval has passed since the value was last sent, values of 0 are always sent.
+ */
+public class MiscPolicy
+{
+	private static final int MISC_COUNT = PartyMiscChange.PartyMisc.values().length;
+
+	private final int[] steps = new int[MISC_COUNT]; // Indexed by PartyMisc ordinal, 0 or 1 sends every change
+	private final int[] intervals = new int[MISC_COUNT]; // Indexed by PartyMisc ordinal, in ticks
+
+	public void set(final PartyMiscChange.PartyMisc type, final int step, final int interval)
+	{
+		steps[type.ordinal()] = step;
+		intervals[type.ordinal()] = interval;
+	}
+
+	public boolean shouldSend(final PartyMiscChange.PartyMisc type, final int value, final TransmittedState sent, final int tick)
+	{
+		final int idx = type.ordinal();
+		if (steps[idx] <= 1 || value == 0 || !sent.hasMisc(type))
+		{
+			return true;
+		}
+
+		final int delta = Math.abs(value - sent.getMiscValue(type));
+		return delta >= steps[idx] || (delta != 0 && tick - sent.getMiscTick(type) >= intervals[idx]);
+	}
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import java.util.Arrays;
+import net.runelite.api.Skill;
+
+/**
+ * Collects the local players changes between sends.
+ * <p>
+ * Every field has a fixed slot and stat & misc changes are stored as primitives, the builder is reset after each
+ * send instead of allocating a new {@link PartyBatchedChange} and its collections for every change.
+ * <p>
+ * Stat & misc changes are keyed by skill and misc type, only the latest value for each is sent.
+ * The same builder is also used to keep a snapshot of the local players entire state, see {@link #getVersion()}.
+ */
+public class PartyBatchBuilder
+{
+	private static final int SKILL_COUNT = Skill.values().length;
+	private static final int MISC_COUNT = PartyMiscChange.PartyMisc.values().length;
+	private static final int USERNAME_BIT = 1 << PartyMiscChange.PartyMisc.U.ordinal();
+
+	private int[] i; // Inventory
+	private int[] e; // Equipment
+	private int[] rp; // Rune pouch
+	private int[] q; // Quiver
+
+	private long statMask; // Skills with a pending change, bit-packed by skill ordinal
+	private final int[] statLevels = new int[SKILL_COUNT]; // Indexed by skill ordinal
+	private final int[] statBoosts = new int[SKILL_COUNT]; // Indexed by skill ordinal
+
+	private int miscMask; // Misc types with a pending change, bit-packed by PartyMisc ordinal
+	private final int[] miscValues = new int[MISC_COUNT]; // Indexed by PartyMisc ordinal
+	private String u; // Username
+
+	private boolean prayers; // Whether the prayer masks are set
+	private int ap; // Available prayers, bit-packed
+	private int ep; // Enabled prayers, bit-packed
+	private int up; // Unlocked prayers, bit-packed
+
+	private int version; // Increased by every change
+
+	public void setI(final int[] i)
+	{
+		this.i = i;
+		version++;
+	}
+
+	public void setE(final int[] e)
+	{
+		this.e = e;
+		version++;
+	}
+
+	public void setRp(final int[] rp)
+	{
+		this.rp = rp;
+		version++;
+	}
+
+	public void setQ(final int[] q)
+	{
+		this.q = q;
+		version++;
+	}
+
+	// Replaces any earlier change to the same skill
+	public void addStat(final int skillOrdinal, final int level, final int boostedLevel)
+	{
+		statMask |= 1L << skillOrdinal;
+		statLevels[skillOrdinal] = level;
+		statBoosts[skillOrdinal] = boostedLevel;
+		version++;
+	}
+
+	// Replaces any earlier change of the same type, usernames are set with setUsername
+	public void addMisc(final PartyMiscChange.PartyMisc type, final int value)
+	{
+		miscMask |= 1 << type.ordinal();
+		miscValues[type.ordinal()] = value;
+		version++;
+	}
+
+	public void setUsername(final String username)
+	{
+		miscMask |= USERNAME_BIT;
+		u = username;
+		version++;
+	}
+
+	public void setPrayers(final int ap, final int ep, final int up)
+	{
+		this.prayers = true;
+		this.ap = ap;
+		this.ep = ep;
+		this.up = up;
+		version++;
+	}
+
+	// The remove methods return true if there was a pending change to remove, the version only changes if there was
+	public boolean removeInventory()
+	{
+		final boolean removed = i != null || rp != null;
+		i = null;
+		rp = null;
+		if (removed)
+		{
+			version++;
+		}
+		return removed;
+	}
+
+	public boolean removeEquipment()
+	{
+		final boolean removed = e != null || q != null;
+		e = null;
+		q = null;
+		if (removed)
+		{
+			version++;
+		}
+		return removed;
+	}
+
+	// Only keeps the pending changes for skills in the mask, bit-packed by skill ordinal
+	public boolean removeStats(final long keepMask)
+	{
+		final boolean removed = (statMask & ~keepMask) != 0;
+		statMask &= keepMask;
+		if (removed)
+		{
+			version++;
+		}
+		return removed;
+	}
+
+	public boolean removeMisc(final PartyMiscChange.PartyMisc type)
+	{
+		final boolean removed = hasMisc(type);
+		miscMask &= ~(1 << type.ordinal());
+		if (removed)
+		{
+			version++;
+		}
+		return removed;
+	}
+
+	public boolean hasMisc(final PartyMiscChange.PartyMisc type)
+	{
+		return (miscMask & (1 << type.ordinal())) != 0;
+	}
+
+	public boolean removePrayers()
+	{
+		final boolean removed = prayers;
+		prayers = false;
+		if (removed)
+		{
+			version++;
+		}
+		return removed;
+	}
+
+	/**
+	 * Adds every pending change from the other builder, replacing any of the same type in this builder
+	 */
+	public void addAll(final PartyBatchBuilder other)
+	{
+		i = other.i != null ? other.i : i;
+		e = other.e != null ? other.e : e;
+		rp = other.rp != null ? other.rp : rp;
+		q = other.q != null ? other.q : q;
+
+		for (int idx = 0; other.statMask != 0 && idx < SKILL_COUNT; idx++)
+		{
+			if ((other.statMask & (1L << idx)) != 0)
+			{
+				addStat(idx, other.statLevels[idx], other.statBoosts[idx]);
+			}
+		}
+
+		for (int idx = 0; other.miscMask != 0 && idx < MISC_COUNT; idx++)
+		{
+			if ((other.miscMask & (1 << idx)) != 0)
+			{
+				miscMask |= 1 << idx;
+				miscValues[idx] = other.miscValues[idx];
+			}
+		}
+
+		if ((other.miscMask & USERNAME_BIT) != 0)
+		{
+			u = other.u;
+		}
+
+		if (other.prayers)
+		{
+			setPrayers(other.ap, other.ep, other.up);
+		}
+		version++;
+	}
+
+	public boolean isEmpty()
+	{
+		return i == null
+				&& e == null
+				&& rp == null
+				&& q == null
+				&& statMask == 0
+				&& miscMask == 0
+				&& !prayers;
+	}
+
+	/**
+	 * @return a rough estimate of how many bytes the batch will take up, used to budget sends
+	 */
+	public int estimateSize()
+	{
+		int size = 8; // Header, sequence & tick
+		size += i == null ? 0 : i.length * 2;
+		size += e == null ? 0 : e.length * 2;
+		size += rp == null ? 0 : rp.length * 4;
+		size += q == null ? 0 : q.length * 3;
+		size += Long.bitCount(statMask) * 4;
+		size += Integer.bitCount(miscMask) * 3;
+		size += prayers ? 12 : 0;
+		return size;
+	}
+
+	/**
+	 * Creates the batch to send, should only be called when the builder isn't empty
+	 */
+	public PartyBatchedChange build()
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setI(i);
+		c.setE(e);
+		c.setRp(rp);
+		c.setQ(q);
+
+		// Copied as the batch may be sent after the builder is reused
+		if (statMask != 0)
+		{
+			c.setSm(statMask);
+			c.setSl(Arrays.copyOf(statLevels, SKILL_COUNT));
+			c.setSb(Arrays.copyOf(statBoosts, SKILL_COUNT));
+		}
+
+		if (miscMask != 0)
+		{
+			c.setMm(miscMask);
+			c.setMv(Arrays.copyOf(miscValues, MISC_COUNT));
+			c.setMu(u);
+		}
+
+		if (prayers)
+		{
+			c.setAp(ap);
+			c.setEp(ep);
+			c.setUp(up);
+		}
+
+		return c;
+	}
+
+	public void reset()
+	{
+		i = null;
+		e = null;
+		rp = null;
+		q = null;
+		statMask = 0;
+		miscMask = 0;
+		u = null;
+		prayers = false;
+		version++;
+	}
+
+	/**
+	 * @return a number which changes whenever anything in the builder changes, so anything built from it can be reused
+	 * until then
+	 */
+	public int getVersion()
+	{
+		return version;
+	}
+}
@@ -24,30 +24,47 @@
  */
 package thestonedturtle.partypanel.data.events;
 
+import com.google.gson.annotations.JsonAdapter;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import net.runelite.api.EquipmentInventorySlot;
 import net.runelite.api.Item;
 import net.runelite.api.Prayer;
+import net.runelite.api.Skill;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.party.messages.PartyMemberMessage;
 import thestonedturtle.partypanel.PartyPanelPlugin;
+import thestonedturtle.partypanel.data.DeadReckoning;
 import thestonedturtle.partypanel.data.GameItem;
 import thestonedturtle.partypanel.data.PartyPlayer;
+import thestonedturtle.partypanel.data.PlayerChanges;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 
 @Data
+@JsonAdapter(PartyBatchedChangeAdapter.class)
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class PartyBatchedChange extends PartyMemberMessage
 {
+	private static final PartyMiscChange.PartyMisc[] MISC_TYPES = PartyMiscChange.PartyMisc.values();
+	private static final int STAT_MISC = pack(EnumSet.of(
+			PartyMiscChange.PartyMisc.S, PartyMiscChange.PartyMisc.R, PartyMiscChange.PartyMisc.C, PartyMiscChange.PartyMisc.T));
+	// Deltas are never applied past the size of the actual containers
+	private static final int INVENTORY_SIZE = 28;
+	private static final int EQUIPMENT_SIZE = EquipmentInventorySlot.AMMO.getSlotIdx() + 1;
+
 	int[] i; // Inventory
 	int[] e; // equipment
+	int[] di; // Inventory delta, (slot, itemId, qty) triples for slots that changed since the last inventory sent
+	int[] de; // Equipment delta, (slot, itemId, qty) triples for slots that changed since the last equipment sent
+	int[] qi; // Inventory quantity delta, (slot, qty) pairs for slots where only the quantity changed
+	int[] qe; // Equipment quantity delta, (slot, qty) pairs for slots where only the quantity changed
 	Collection<PartyStatChange> s = new ArrayList<>(); // Stat Changes
 	Collection<PartyMiscChange> m = new ArrayList<>(); // Misc Changes
 	Integer ap; // Available Prayers, bit-packed & contains all available prayers on every change
@@ -55,13 +72,30 @@ public class PartyBatchedChange extends PartyMemberMessage
 	Integer up; // Unlocked Prayers, bit-packed & contains all unlocked prayers on every change. Only for deadeye/vigour currently
 	int[] rp; // rp itemId and qty
 	int[] q; // Quiver itemId and qty
+	int sq; // Sequence number, increases with every batch a member sends and restarts at 1 when their plugin starts
+	int tk; // Game tick the batch was sent on
+
+	// Received stat & misc changes are decoded into fixed positions instead of into s & m.
+	// The json shape is controlled by PartyBatchedChangeAdapter, which writes these as entries of s & m
+	long sm; // Skills present in sl & sb, bit-packed by skill ordinal
+	int[] sl; // Levels, indexed by skill ordinal
+	int[] sb; // Boosted levels, indexed by skill ordinal
+	int mm; // Misc values present in mv, bit-packed by PartyMisc ordinal
+	int[] mv; // Misc values, indexed by PartyMisc ordinal
+	String mu; // Username
 
 	public boolean isValid()
 	{
 		return i != null
 				|| e != null
+				|| di != null
+				|| de != null
+				|| qi != null
+				|| qe != null
 				|| (s != null && !s.isEmpty())
 				|| (m != null && !m.isEmpty())
+				|| sm != 0
+				|| mm != 0
 				|| ap != null
 				|| ep != null
 				|| up != null
@@ -76,14 +110,28 @@ public class PartyBatchedChange extends PartyMemberMessage
 		m = (m == null || m.isEmpty()) ? null : m;
 	}
 
-	public void process(PartyPlayer player, ItemManager itemManager)
+	/**
+	 * @return the {@link PlayerChanges} this batch modified
+	 */
+	public int process(PartyPlayer player, ItemManager itemManager)
 	{
+		int changes = 0;
+
 		if (i != null)
 		{
-			final GameItem[] gameItems = GameItem.convertItemsToGameItems(i, itemManager);
-			player.setInventory(gameItems);
+			player.setInventory(GameItem.convertItemsToGameItems(i, itemManager));
+		}
+
+		if (di != null || qi != null)
+		{
+			player.setInventory(applyItemDelta(player.getInventory(), di, qi, INVENTORY_SIZE, itemManager));
+		}
+
+		if (i != null || di != null || qi != null)
+		{
+			changes |= PlayerChanges.INVENTORY;
 			player.getQuiver().setInInventory(false);
-			for (final GameItem item : gameItems)
+			for (final GameItem item : player.getInventory())
 			{
 				if (item == null)
 				{
@@ -100,8 +148,18 @@ public class PartyBatchedChange extends PartyMemberMessage
 
 		if (e != null)
 		{
-			final GameItem[] gameItems = GameItem.convertItemsToGameItems(e, itemManager);
-			player.setEquipment(gameItems);
+			player.setEquipment(GameItem.convertItemsToGameItems(e, itemManager));
+		}
+
+		if (de != null || qe != null)
+		{
+			player.setEquipment(applyItemDelta(player.getEquipment(), de, qe, EQUIPMENT_SIZE, itemManager));
+		}
+
+		if (e != null || de != null || qe != null)
+		{
+			changes |= PlayerChanges.EQUIPMENT;
+			final GameItem[] gameItems = player.getEquipment();
 			player.getQuiver().setBeingWorn(false);
 			if (gameItems.length > EquipmentInventorySlot.CAPE.getSlotIdx())
 			{
@@ -112,17 +170,50 @@ public class PartyBatchedChange extends PartyMemberMessage
 
 		if (s != null)
 		{
-			s.forEach(change -> change.process(player));
+			for (final PartyStatChange change : s)
+			{
+				change.process(player);
+				changes |= PlayerChanges.forSkill(change.getS());
+			}
 		}
 
 		if (m != null)
 		{
-			m.forEach(change -> change.process(player));
+			for (final PartyMiscChange change : m)
+			{
+				change.process(player);
+				changes |= PlayerChanges.forMisc(change.getT());
+			}
+		}
+
+		if (sm != 0)
+		{
+			for (int idx = 0; idx < sl.length; idx++)
+			{
+				if ((sm & (1L << idx)) != 0)
+				{
+					PartyStatChange.apply(player, idx, sl[idx], sb[idx]);
+					changes |= PlayerChanges.forSkill(idx);
+				}
+			}
+		}
+
+		if (mm != 0)
+		{
+			for (final PartyMiscChange.PartyMisc type : MISC_TYPES)
+			{
+				if ((mm & (1 << type.ordinal())) != 0)
+				{
+					PartyMiscChange.apply(player, type, mv[type.ordinal()], mu);
+					changes |= PlayerChanges.forMisc(type);
+				}
+			}
 		}
 
 		if (ap != null || ep != null || up != null)
 		{
 			processPrayers(player);
+			changes |= PlayerChanges.PRAYERS;
 		}
 
 		if (rp != null)
@@ -131,6 +222,7 @@ public class PartyBatchedChange extends PartyMemberMessage
 					.mapToObj(PartyBatchedChange::unpackRune)
 					.toArray(Item[]::new);
 			player.setRunesInPouch(GameItem.convertItemsToGameItems(runePouchContents, itemManager));
+			changes |= PlayerChanges.INVENTORY;
 		}
 
 		if (q != null)
@@ -144,7 +236,211 @@ public class PartyBatchedChange extends PartyMemberMessage
 				assert q.length == 2;
 				player.getQuiver().setQuiverAmmo(new GameItem(q[0], q[1], itemManager));
 			}
+			changes |= PlayerChanges.EQUIPMENT;
+		}
+
+		return changes;
+	}
+
+	/**
+	 * Feeds the run energy & prayer points in this batch to the {@link DeadReckoning}s extrapolating them
+	 */
+	public void samplePredictions(final DeadReckoning runEnergy, final DeadReckoning prayer)
+	{
+		final int run = PartyMiscChange.PartyMisc.R.ordinal();
+		if ((mm & (1 << run)) != 0)
+		{
+			runEnergy.sample(mv[run], tk);
+		}
+
+		final int prayerOrdinal = Skill.PRAYER.ordinal();
+		if ((sm & (1L << prayerOrdinal)) != 0)
+		{
+			prayer.sample(sb[prayerOrdinal], tk);
+		}
+	}
+
+	/**
+	 * Merges a batch received after this one into this batch, values from the later batch win
+	 */
+	public void merge(final PartyBatchedChange later)
+	{
+		if (later.i != null)
+		{
+			i = later.i;
+			di = later.di;
+			qi = later.qi;
+		}
+		else
+		{
+			qi = mergeQtyDelta(qi, later.di);
+			di = concat(di, later.di);
+			qi = concat(qi, later.qi);
+		}
+
+		if (later.e != null)
+		{
+			e = later.e;
+			de = later.de;
+			qe = later.qe;
+		}
+		else
+		{
+			qe = mergeQtyDelta(qe, later.de);
+			de = concat(de, later.de);
+			qe = concat(qe, later.qe);
+		}
+
+		if (later.s != null && !later.s.isEmpty())
+		{
+			s = s == null ? new ArrayList<>() : s;
+			s.addAll(later.s);
+		}
+
+		if (later.m != null && !later.m.isEmpty())
+		{
+			m = m == null ? new ArrayList<>() : m;
+			m.addAll(later.m);
+		}
+
+		if (later.sm != 0)
+		{
+			if (sl == null)
+			{
+				sl = new int[later.sl.length];
+				sb = new int[later.sb.length];
+			}
+
+			for (int idx = 0; idx < later.sl.length; idx++)
+			{
+				if ((later.sm & (1L << idx)) != 0)
+				{
+					sl[idx] = later.sl[idx];
+					sb[idx] = later.sb[idx];
+				}
+			}
+			sm |= later.sm;
+		}
+
+		if (later.mm != 0)
+		{
+			if (mv == null)
+			{
+				mv = new int[later.mv.length];
+			}
+
+			for (int idx = 0; idx < later.mv.length; idx++)
+			{
+				if ((later.mm & (1 << idx)) != 0)
+				{
+					mv[idx] = later.mv[idx];
+				}
+			}
+			mm |= later.mm;
+			mu = later.mu != null ? later.mu : mu;
+		}
+
+		// Prayers are always sent together
+		if (later.ap != null || later.ep != null || later.up != null)
+		{
+			ap = later.ap;
+			ep = later.ep;
+			up = later.up;
+		}
+
+		rp = later.rp != null ? later.rp : rp;
+		q = later.q != null ? later.q : q;
+		sq = later.sq;
+		tk = later.tk;
+	}
+
+	private static int[] concat(final int[] a, final int[] b)
+	{
+		if (a == null || b == null)
+		{
+			return a == null ? b : a;
+		}
+
+		final int[] out = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0, out, a.length, b.length);
+		return out;
+	}
+
+	// Quantity changes are applied after slot changes, so drop any earlier quantity change to a slot the later batch replaced
+	private static int[] mergeQtyDelta(final int[] qtyDelta, final int[] laterDelta)
+	{
+		if (qtyDelta == null || laterDelta == null)
+		{
+			return qtyDelta;
+		}
+
+		final int[] out = new int[qtyDelta.length];
+		int size = 0;
+		for (int idx = 0; idx + 1 < qtyDelta.length; idx += 2)
+		{
+			boolean replaced = false;
+			for (int d = 0; d + 2 < laterDelta.length; d += 3)
+			{
+				if (laterDelta[d] == qtyDelta[idx])
+				{
+					replaced = true;
+					break;
+				}
+			}
+
+			if (!replaced)
+			{
+				out[size++] = qtyDelta[idx];
+				out[size++] = qtyDelta[idx + 1];
+			}
+		}
+
+		return size == 0 ? null : Arrays.copyOf(out, size);
+	}
+
+	// Updates the changed slots in place, only growing the array if the delta references a slot outside of it.
+	// Slots outside of the container are ignored as they can only come from a malformed batch
+	private static GameItem[] applyItemDelta(GameItem[] items, final int[] delta, final int[] qtyDelta, final int maxSize, final ItemManager itemManager)
+	{
+		if (delta != null)
+		{
+			for (int idx = 0; idx + 2 < delta.length; idx += 3)
+			{
+				final int slot = delta[idx];
+				if (slot < 0 || slot >= maxSize)
+				{
+					continue;
+				}
+
+				if (slot >= items.length)
+				{
+					items = Arrays.copyOf(items, slot + 1);
+				}
+
+				final int id = delta[idx + 1];
+				final int qty = delta[idx + 2];
+				items[slot] = id == -1 || qty <= 0 ? null : new GameItem(id, qty, itemManager);
+			}
 		}
+
+		if (qtyDelta != null)
+		{
+			for (int idx = 0; idx + 1 < qtyDelta.length; idx += 2)
+			{
+				final int slot = qtyDelta[idx];
+				final int qty = qtyDelta[idx + 1];
+				// A quantity change for an item we don't know about means we missed an update, wait for the next full container
+				if (slot < 0 || slot >= items.length || items[slot] == null)
+				{
+					continue;
+				}
+
+				final GameItem old = items[slot];
+				items[slot] = qty <= 0 ? null : new GameItem(old.getId(), qty, old.getName(), old.isStackable(), old.getPrice());
+			}
+		}
+
+		return items;
 	}
 
 	private void processPrayers(PartyPlayer player)
@@ -173,28 +469,11 @@ public class PartyBatchedChange extends PartyMemberMessage
 		}
 	}
 
-	public boolean hasBreakingBannerChange()
-	{
-		return m != null
-				&& m.stream()
-				.anyMatch(e ->
-				{
-					switch (e.t)
-					{
-						case C:
-						case W:
-						case U:
-						case SP:
-							return true;
-					}
-
-					return false;
-				});
-	}
-
 	public boolean hasStatChange()
 	{
 		return (s != null && !s.isEmpty())
+				|| sm != 0
+				|| (mm & STAT_MISC) != 0
 				|| (m != null && m.stream().anyMatch(e ->
 				e.getT() == PartyMiscChange.PartyMisc.S
 						|| e.getT() == PartyMiscChange.PartyMisc.R
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import net.runelite.api.Skill;
+
+/**
+ * Streams {@link PartyBatchedChange} using the same json shape as reflective serialization.
+ * <p>
+ * Stat and misc changes are read straight into the fixed position arrays instead of
+ * creating a {@link PartyStatChange} or {@link PartyMiscChange} per entry, and empty sections are skipped.
+ */
+public class PartyBatchedChangeAdapter extends TypeAdapter<PartyBatchedChange>
+{
+	private static final int SKILL_COUNT = Skill.values().length;
+	private static final PartyMiscChange.PartyMisc[] MISC_TYPES = PartyMiscChange.PartyMisc.values();
+	// Arrays are read into a reused buffer, large enough for a full inventory, so only the result is allocated
+	private static final ThreadLocal<int[]> READ_BUFFER = ThreadLocal.withInitial(() -> new int[56]);
+
+	@Override
+	public void write(JsonWriter out, PartyBatchedChange c) throws IOException
+	{
+		if (c == null)
+		{
+			out.nullValue();
+			return;
+		}
+
+		out.beginObject();
+		writeInts(out, "i", c.i);
+		writeInts(out, "e", c.e);
+		writeInts(out, "di", c.di);
+		writeInts(out, "de", c.de);
+		writeInts(out, "qi", c.qi);
+		writeInts(out, "qe", c.qe);
+		writeStats(out, c);
+		writeMisc(out, c);
+		writeInteger(out, "ap", c.ap);
+		writeInteger(out, "ep", c.ep);
+		writeInteger(out, "up", c.up);
+		writeInts(out, "rp", c.rp);
+		writeInts(out, "q", c.q);
+		if (c.sq != 0)
+		{
+			out.name("sq").value(c.sq);
+			out.name("tk").value(c.tk);
+		}
+		out.name("memberId").value(c.getMemberId());
+		out.endObject();
+	}
+
+	@Override
+	public PartyBatchedChange read(JsonReader in) throws IOException
+	{
+		if (in.peek() == JsonToken.NULL)
+		{
+			in.nextNull();
+			return null;
+		}
+
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.s = null;
+		c.m = null;
+
+		in.beginObject();
+		while (in.hasNext())
+		{
+			final String name = in.nextName();
+			if (in.peek() == JsonToken.NULL)
+			{
+				in.nextNull();
+				continue;
+			}
+
+			switch (name)
+			{
+				case "i":
+					c.i = readInts(in);
+					break;
+				case "e":
+					c.e = readInts(in);
+					break;
+				case "di":
+					c.di = readInts(in);
+					break;
+				case "de":
+					c.de = readInts(in);
+					break;
+				case "qi":
+					c.qi = readInts(in);
+					break;
+				case "qe":
+					c.qe = readInts(in);
+					break;
+				case "s":
+					readStats(in, c);
+					break;
+				case "m":
+					readMisc(in, c);
+					break;
+				case "ap":
+					c.ap = in.nextInt();
+					break;
+				case "ep":
+					c.ep = in.nextInt();
+					break;
+				case "up":
+					c.up = in.nextInt();
+					break;
+				case "rp":
+					c.rp = readInts(in);
+					break;
+				case "q":
+					c.q = readInts(in);
+					break;
+				case "sq":
+					c.sq = in.nextInt();
+					break;
+				case "tk":
+					c.tk = in.nextInt();
+					break;
+				case "memberId":
+					c.setMemberId(in.nextLong());
+					break;
+				default:
+					in.skipValue();
+			}
+		}
+		in.endObject();
+
+		return c;
+	}
+
+	private static void writeInts(JsonWriter out, String name, int[] values) throws IOException
+	{
+		if (values == null)
+		{
+			return;
+		}
+
+		out.name(name).beginArray();
+		for (final int v : values)
+		{
+			out.value(v);
+		}
+		out.endArray();
+	}
+
+	private static void writeInteger(JsonWriter out, String name, Integer value) throws IOException
+	{
+		if (value != null)
+		{
+			out.name(name).value(value);
+		}
+	}
+
+	private static void writeStats(JsonWriter out, PartyBatchedChange c) throws IOException
+	{
+		final boolean hasList = c.s != null && !c.s.isEmpty();
+		if (!hasList && c.sm == 0)
+		{
+			return;
+		}
+
+		out.name("s").beginArray();
+		if (hasList)
+		{
+			for (final PartyStatChange s : c.s)
+			{
+				PartyStatChangeAdapter.write(out, s.getS(), s.getL(), s.getB());
+			}
+		}
+
+		for (int idx = 0; c.sm != 0 && idx < c.sl.length; idx++)
+		{
+			if ((c.sm & (1L << idx)) != 0)
+			{
+				PartyStatChangeAdapter.write(out, idx, c.sl[idx], c.sb[idx]);
+			}
+		}
+		out.endArray();
+	}
+
+	private static void writeMisc(JsonWriter out, PartyBatchedChange c) throws IOException
+	{
+		final boolean hasList = c.m != null && !c.m.isEmpty();
+		if (!hasList && c.mm == 0)
+		{
+			return;
+		}
+
+		out.name("m").beginArray();
+		if (hasList)
+		{
+			for (final PartyMiscChange m : c.m)
+			{
+				PartyMiscChangeAdapter.write(out, m.getT(), m.getV(), m.getS());
+			}
+		}
+
+		for (final PartyMiscChange.PartyMisc type : MISC_TYPES)
+		{
+			if ((c.mm & (1 << type.ordinal())) == 0)
+			{
+				continue;
+			}
+
+			if (type == PartyMiscChange.PartyMisc.U)
+			{
+				PartyMiscChangeAdapter.write(out, type, null, c.mu);
+			}
+			else
+			{
+				PartyMiscChangeAdapter.write(out, type, c.mv[type.ordinal()], null);
+			}
+		}
+		out.endArray();
+	}
+
+	private static int[] readInts(JsonReader in) throws IOException
+	{
+		int[] values = READ_BUFFER.get();
+		int size = 0;
+
+		in.beginArray();
+		while (in.hasNext())
+		{
+			if (size == values.length)
+			{
+				values = Arrays.copyOf(values, size * 2);
+				READ_BUFFER.set(values);
+			}
+			values[size++] = in.nextInt();
+		}
+		in.endArray();
+
+		return Arrays.copyOf(values, size);
+	}
+
+	private static void readStats(JsonReader in, PartyBatchedChange c) throws IOException
+	{
+		final int[] stat = new int[3];
+		in.beginArray();
+		while (in.hasNext())
+		{
+			PartyStatChangeAdapter.read(in, stat);
+			// Ignore skills added in a newer client that we don't know about yet
+			if (stat[0] < 0 || stat[0] >= SKILL_COUNT)
+			{
+				continue;
+			}
+
+			if (c.sl == null)
+			{
+				c.sl = new int[SKILL_COUNT];
+				c.sb = new int[SKILL_COUNT];
+			}
+
+			c.sm |= 1L << stat[0];
+			c.sl[stat[0]] = stat[1];
+			c.sb[stat[0]] = stat[2];
+		}
+		in.endArray();
+	}
+
+	private static void readMisc(JsonReader in, PartyBatchedChange c) throws IOException
+	{
+		final PartyMiscChangeAdapter.Entry entry = new PartyMiscChangeAdapter.Entry();
+		in.beginArray();
+		while (in.hasNext())
+		{
+			PartyMiscChangeAdapter.read(in, entry);
+			if (entry.type == null)
+			{
+				continue;
+			}
+
+			if (c.mv == null)
+			{
+				c.mv = new int[MISC_TYPES.length];
+			}
+
+			c.mm |= 1 << entry.type.ordinal();
+			if (entry.type == PartyMiscChange.PartyMisc.U)
+			{
+				c.mu = entry.string;
+			}
+			else
+			{
+				c.mv[entry.type.ordinal()] = entry.value;
+			}
+		}
+		in.endArray();
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import net.runelite.client.party.messages.PartyMemberMessage;
+
+/**
+ * Announces which version of the party protocol a member understands.
+ * Members who never announce are running an older version and only understand json {@link PartyBatchedChange}s
+ * containing full item containers.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class PartyCapabilities extends PartyMemberMessage
+{
+	// Only increased for changes older members can't ignore, new features are announced with a feature bit instead
+	public static final int PROTOCOL_VERSION = 1;
+
+	// Feature bits
+	public static final int ITEM_DELTAS = 1; // di, de, qi & qe
+	public static final int COMPACT = 1 << 1; // PartyCompactChange
+	public static final int DEFLATE = 1 << 2; // Deflated PartyCompactChange payloads
+	public static final int DIGESTS = 1 << 3; // PartyStateDigest & PartySectionRequest
+	public static final int INTERESTS = 1 << 4; // PartyInterest
+	public static final int PREDICTIONS = 1 << 5; // Run energy & prayer points are extrapolated, see DeadReckoning
+
+	public static final int SUPPORTED = ITEM_DELTAS | COMPACT | DEFLATE | DIGESTS | INTERESTS | PREDICTIONS;
+
+	int v; // Protocol version
+	int f; // Supported features
+
+	public PartyCapabilities(final long memberId)
+	{
+		this.v = PROTOCOL_VERSION;
+		this.f = SUPPORTED;
+		setMemberId(memberId);
+	}
+
+	/**
+	 * @return the features which can be used with this member, none if they are on a different protocol version
+	 */
+	public int getUsableFeatures()
+	{
+		return v == PROTOCOL_VERSION ? f & SUPPORTED : 0;
+	}
+}
@@ -24,12 +24,14 @@
  */
 package thestonedturtle.partypanel.data.events;
 
+import com.google.gson.annotations.JsonAdapter;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import thestonedturtle.partypanel.data.PartyPlayer;
 
 // Used for updating stuff that is just a single integer value and doesn't fit into the other classes
 @Data
+@JsonAdapter(PartyMiscChangeAdapter.class)
 @Slf4j
 public class PartyMiscChange implements PartyProcess
 {
@@ -67,6 +69,11 @@ public class PartyMiscChange implements PartyProcess
 
 	@Override
 	public void process(PartyPlayer p)
+	{
+		apply(p, t, v == null ? 0 : v, s);
+	}
+
+	public static void apply(PartyPlayer p, PartyMisc t, int v, String s)
 	{
 		switch (t)
 		{
@@ -99,8 +106,9 @@ public class PartyMiscChange implements PartyProcess
 				break;
 			case SP:
 				p.setSpellbook(v);
+				break;
 			default:
-				log.warn("Unhandled misc change type for event: {}", this);
+				log.warn("Unhandled misc change type: {}", t);
 		}
 	}
 }
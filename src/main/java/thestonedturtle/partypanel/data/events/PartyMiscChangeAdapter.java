@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Streams {@link PartyMiscChange} as {"t":type,"v":value} or {"t":type,"s":string}, matching the reflective json shape
+ */
+public class PartyMiscChangeAdapter extends TypeAdapter<PartyMiscChange>
+{
+	private static final PartyMiscChange.PartyMisc[] MISC_TYPES = PartyMiscChange.PartyMisc.values();
+
+	@Override
+	public void write(JsonWriter out, PartyMiscChange value) throws IOException
+	{
+		if (value == null)
+		{
+			out.nullValue();
+			return;
+		}
+
+		write(out, value.getT(), value.getV(), value.getS());
+	}
+
+	@Override
+	public PartyMiscChange read(JsonReader in) throws IOException
+	{
+		if (in.peek() == JsonToken.NULL)
+		{
+			in.nextNull();
+			return null;
+		}
+
+		final Entry entry = new Entry();
+		read(in, entry);
+		final PartyMiscChange change = new PartyMiscChange(entry.type, entry.hasValue ? entry.value : null);
+		change.setS(entry.string);
+		return change;
+	}
+
+	static void write(JsonWriter out, PartyMiscChange.PartyMisc type, Integer value, String string) throws IOException
+	{
+		out.beginObject();
+		out.name("t").value(type == null ? null : type.name());
+		if (value != null)
+		{
+			out.name("v").value(value);
+		}
+		if (string != null)
+		{
+			out.name("s").value(string);
+		}
+		out.endObject();
+	}
+
+	/**
+	 * Reads a single misc change into {@code out}, the type is null if it isn't known to this version
+	 */
+	static void read(JsonReader in, Entry out) throws IOException
+	{
+		out.type = null;
+		out.value = 0;
+		out.hasValue = false;
+		out.string = null;
+
+		in.beginObject();
+		while (in.hasNext())
+		{
+			final String name = in.nextName();
+			if (in.peek() == JsonToken.NULL)
+			{
+				in.nextNull();
+				continue;
+			}
+
+			switch (name)
+			{
+				case "t":
+					out.type = lookup(in.nextString());
+					break;
+				case "v":
+					out.value = in.nextInt();
+					out.hasValue = true;
+					break;
+				case "s":
+					out.string = in.nextString();
+					break;
+				default:
+					in.skipValue();
+			}
+		}
+		in.endObject();
+	}
+
+	private static PartyMiscChange.PartyMisc lookup(String name)
+	{
+		for (final PartyMiscChange.PartyMisc type : MISC_TYPES)
+		{
+			if (type.name().equals(name))
+			{
+				return type;
+			}
+		}
+
+		return null;
+	}
+
+	static class Entry
+	{
+		PartyMiscChange.PartyMisc type;
+		int value;
+		boolean hasValue;
+		String string;
+	}
+}
@@ -24,22 +24,31 @@
  */
 package thestonedturtle.partypanel.data.events;
 
+import com.google.gson.annotations.JsonAdapter;
 import lombok.Value;
 import net.runelite.api.Skill;
 import thestonedturtle.partypanel.data.PartyPlayer;
 
 @Value
+@JsonAdapter(PartyStatChangeAdapter.class)
 public class PartyStatChange implements PartyProcess
 {
 	int s; // Skill ordinal
 	int l; // Level
 	int b; // Boosted Level
 
+	private static final Skill[] SKILLS = Skill.values();
+
 	@Override
 	public void process(PartyPlayer p)
 	{
-		final Skill skill = Skill.values()[s];
-		p.getStats().getBaseLevels().put(skill, l);
-		p.getStats().getBoostedLevels().put(skill, b);
+		apply(p, s, l, b);
+	}
+
+	public static void apply(PartyPlayer p, int skillOrdinal, int level, int boostedLevel)
+	{
+		final Skill skill = SKILLS[skillOrdinal];
+		p.getStats().getBaseLevels().put(skill, level);
+		p.getStats().getBoostedLevels().put(skill, boostedLevel);
 	}
 }
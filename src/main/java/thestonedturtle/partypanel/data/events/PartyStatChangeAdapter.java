@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Streams {@link PartyStatChange} as {"s":skill,"l":level,"b":boosted}, matching the reflective json shape
+ */
+public class PartyStatChangeAdapter extends TypeAdapter<PartyStatChange>
+{
+	@Override
+	public void write(JsonWriter out, PartyStatChange value) throws IOException
+	{
+		if (value == null)
+		{
+			out.nullValue();
+			return;
+		}
+
+		write(out, value.getS(), value.getL(), value.getB());
+	}
+
+	@Override
+	public PartyStatChange read(JsonReader in) throws IOException
+	{
+		if (in.peek() == JsonToken.NULL)
+		{
+			in.nextNull();
+			return null;
+		}
+
+		final int[] stat = new int[3];
+		read(in, stat);
+		return new PartyStatChange(stat[0], stat[1], stat[2]);
+	}
+
+	static void write(JsonWriter out, int skill, int level, int boostedLevel) throws IOException
+	{
+		out.beginObject();
+		out.name("s").value(skill);
+		out.name("l").value(level);
+		out.name("b").value(boostedLevel);
+		out.endObject();
+	}
+
+	/**
+	 * Reads a single stat change into {@code out} as skill, level and boosted level
+	 */
+	static void read(JsonReader in, int[] out) throws IOException
+	{
+		out[0] = 0;
+		out[1] = 0;
+		out[2] = 0;
+
+		in.beginObject();
+		while (in.hasNext())
+		{
+			switch (in.nextName())
+			{
+				case "s":
+					out[0] = in.nextInt();
+					break;
+				case "l":
+					out[1] = in.nextInt();
+					break;
+				case "b":
+					out[2] = in.nextInt();
+					break;
+				default:
+					in.skipValue();
+			}
+		}
+		in.endObject();
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+/**
+ * Limits how many bytes are sent over time, tokens are added every game tick up to a burst capacity
+ * and spent on every batch sent.
+ */
+public class TokenBucket
+{
+	private double tokens;
+	private double capacity;
+
+	/**
+	 * Adds a single game ticks worth of tokens
+	 */
+	public void refill(final double bytesPerTick, final double capacity)
+	{
+		this.capacity = capacity;
+		tokens = Math.min(capacity, tokens + bytesPerTick);
+	}
+
+	/**
+	 * Batches larger than the capacity could never be afforded, so they are spent as soon as the bucket is full and the
+	 * difference is repaid as debt, the same as {@link #consumeWithDebt(int)}.
+	 *
+	 * @return true if there were enough tokens for the bytes, in which case they have been spent
+	 */
+	public boolean tryConsume(final int bytes)
+	{
+		if (tokens < Math.min(bytes, capacity) || (tokens < bytes && capacity <= 0))
+		{
+			return false;
+		}
+
+		tokens -= bytes;
+		return true;
+	}
+
+	/**
+	 * Spends the bytes even if there aren't enough tokens, as long as the bucket isn't already a full capacity in debt.
+	 * Any debt has to be repaid before {@link #tryConsume(int)} succeeds again, so the average rate is unchanged.
+	 *
+	 * @return true if the bytes were spent
+	 */
+	public boolean consumeWithDebt(final int bytes)
+	{
+		if (tokens < -capacity)
+		{
+			return false;
+		}
+
+		tokens -= bytes;
+		return true;
+	}
+
+	/**
+	 * Spends the bytes regardless of how many tokens there are
+	 */
+	public void consume(final int bytes)
+	{
+		tokens -= bytes;
+	}
+
+	public void reset()
+	{
+		tokens = 0;
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import java.util.Arrays;
+import net.runelite.api.Skill;
+
+/**
+ * The last values sent for each section other than the item containers, which are tracked by their {@link ItemDeltaEncoder}.
+ * Used to drop sections which wouldn't change anything for the receivers, e.g. after a world hop.
+ */
+public class TransmittedState
+{
+	private static final int SKILL_COUNT = Skill.values().length;
+	private static final PartyMiscChange.PartyMisc[] MISC_TYPES = PartyMiscChange.PartyMisc.values();
+
+	private long statMask; // Skills which have been sent, bit-packed by skill ordinal
+	private final int[] levels = new int[SKILL_COUNT];
+	private final int[] boosts = new int[SKILL_COUNT];
+	private int miscMask; // Misc types which have been sent, bit-packed by PartyMisc ordinal
+	private final int[] miscValues = new int[MISC_TYPES.length];
+	private final int[] miscTicks = new int[MISC_TYPES.length]; // Tick each misc type was last sent on
+	private Integer ap;
+	private Integer ep;
+	private Integer up;
+	private int[] rp;
+	private int[] q;
+
+	/**
+	 * Removes any stat, misc, prayer, rune pouch or quiver values which match what was last sent
+	 */
+	public void removeUnchanged(final PartyBatchedChange c)
+	{
+		for (int idx = 0; c.sm != 0 && idx < SKILL_COUNT; idx++)
+		{
+			final long bit = 1L << idx;
+			if ((c.sm & bit) != 0 && (statMask & bit) != 0 && c.sl[idx] == levels[idx] && c.sb[idx] == boosts[idx])
+			{
+				c.sm &= ~bit;
+			}
+		}
+
+		for (int idx = 0; c.mm != 0 && idx < MISC_TYPES.length; idx++)
+		{
+			final int bit = 1 << idx;
+			if ((c.mm & bit) != 0 && (miscMask & bit) != 0 && c.mv[idx] == miscValues[idx])
+			{
+				c.mm &= ~bit;
+			}
+		}
+
+		// Prayers are always sent together as receivers reset every prayer when applying them
+		if (c.ap != null && c.ap.equals(ap) && c.ep != null && c.ep.equals(ep) && c.up != null && c.up.equals(up))
+		{
+			c.ap = null;
+			c.ep = null;
+			c.up = null;
+		}
+
+		if (c.rp != null && Arrays.equals(c.rp, rp))
+		{
+			c.rp = null;
+		}
+
+		if (c.q != null && Arrays.equals(c.q, q))
+		{
+			c.q = null;
+		}
+	}
+
+	public boolean hasMisc(final PartyMiscChange.PartyMisc type)
+	{
+		return (miscMask & (1 << type.ordinal())) != 0;
+	}
+
+	public int getMiscValue(final PartyMiscChange.PartyMisc type)
+	{
+		return miscValues[type.ordinal()];
+	}
+
+	public int getMiscTick(final PartyMiscChange.PartyMisc type)
+	{
+		return miscTicks[type.ordinal()];
+	}
+
+	/**
+	 * Forgets the skill was sent, so the next value is sent even if it matches what was last sent
+	 */
+	public void forgetStat(final Skill skill)
+	{
+		statMask &= ~(1L << skill.ordinal());
+	}
+
+	public void forgetMisc(final PartyMiscChange.PartyMisc type)
+	{
+		miscMask &= ~(1 << type.ordinal());
+	}
+
+	/**
+	 * Marks the values in the batch as sent on the tick
+	 */
+	public void record(final PartyBatchedChange c, final int tick)
+	{
+		for (int idx = 0; c.sm != 0 && idx < SKILL_COUNT; idx++)
+		{
+			if ((c.sm & (1L << idx)) != 0)
+			{
+				recordStat(idx, c.sl[idx], c.sb[idx]);
+			}
+		}
+
+		if (c.s != null)
+		{
+			for (final PartyStatChange s : c.s)
+			{
+				recordStat(s.getS(), s.getL(), s.getB());
+			}
+		}
+
+		for (int idx = 0; c.mm != 0 && idx < MISC_TYPES.length; idx++)
+		{
+			// Usernames are only sent as part of a full update so are never suppressed
+			if ((c.mm & (1 << idx)) != 0 && idx != PartyMiscChange.PartyMisc.U.ordinal())
+			{
+				recordMisc(idx, c.mv[idx], tick);
+			}
+		}
+
+		if (c.m != null)
+		{
+			for (final PartyMiscChange m : c.m)
+			{
+				// Usernames are only sent as part of a full update so are never suppressed
+				if (m.getV() != null)
+				{
+					recordMisc(m.getT().ordinal(), m.getV(), tick);
+				}
+			}
+		}
+
+		if (c.ap != null || c.ep != null || c.up != null)
+		{
+			ap = c.ap;
+			ep = c.ep;
+			up = c.up;
+		}
+
+		if (c.rp != null)
+		{
+			rp = c.rp;
+		}
+
+		if (c.q != null)
+		{
+			q = c.q;
+		}
+	}
+
+	public void reset()
+	{
+		statMask = 0;
+		miscMask = 0;
+		ap = null;
+		ep = null;
+		up = null;
+		rp = null;
+		q = null;
+	}
+
+	private void recordStat(final int skillOrdinal, final int level, final int boostedLevel)
+	{
+		statMask |= 1L << skillOrdinal;
+		levels[skillOrdinal] = level;
+		boosts[skillOrdinal] = boostedLevel;
+	}
+
+	private void recordMisc(final int miscOrdinal, final int value, final int tick)
+	{
+		miscMask |= 1 << miscOrdinal;
+		miscValues[miscOrdinal] = value;
+		miscTicks[miscOrdinal] = tick;
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.partypanel.data.events;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.runelite.client.party.PartyMember;
+import thestonedturtle.partypanel.data.StateDigest;
+
+/**
+ * Tracks which sections of the local player each member is displaying, so sections nobody is looking at can be held back
+ */
+public class ViewerInterest
+{
+	// Sections which are only sent while another member is displaying them, the rest is needed for the banner
+	public static final int INTEREST_SECTIONS = 1 << StateDigest.INVENTORY | 1 << StateDigest.EQUIPMENT | 1 << StateDigest.PRAYERS;
+
+	// Updated from the websocket thread, members who haven't announced are assumed to display everything
+	private final Map<Long, Integer> viewers = new ConcurrentHashMap<>();
+
+	public void update(final PartyInterest interest, final long localMemberId)
+	{
+		viewers.put(interest.getMemberId(), interest.getSections(localMemberId));
+	}
+
+	public void remove(final long memberId)
+	{
+		viewers.remove(memberId);
+	}
+
+	public void clear()
+	{
+		viewers.clear();
+	}
+
+	/**
+	 * @return the sections any other member is displaying, bit-packed by StateDigest section
+	 */
+	public int getSections(final List<PartyMember> members, final long localMemberId)
+	{
+		int sections = StateDigest.ALL_SECTIONS & ~INTEREST_SECTIONS;
+		for (int idx = 0; idx < members.size(); idx++)
+		{
+			final long memberId = members.get(idx).getMemberId();
+			if (memberId != localMemberId)
+			{
+				sections |= viewers.getOrDefault(memberId, StateDigest.ALL_SECTIONS);
+			}
+		}
+		return sections;
+	}
+}
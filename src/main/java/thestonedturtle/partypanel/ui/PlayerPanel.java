@@ -42,7 +42,9 @@ import net.runelite.client.util.ImageUtil;
 import thestonedturtle.partypanel.PartyPanelConfig;
 import thestonedturtle.partypanel.data.GameItem;
 import thestonedturtle.partypanel.data.PartyPlayer;
+import thestonedturtle.partypanel.data.PlayerChanges;
 import thestonedturtle.partypanel.data.PrayerData;
+import thestonedturtle.partypanel.data.StateDigest;
 import thestonedturtle.partypanel.ui.equipment.EquipmentPanelSlot;
 import thestonedturtle.partypanel.ui.equipment.PlayerEquipmentPanel;
 import thestonedturtle.partypanel.ui.prayer.PlayerPrayerPanel;
@@ -99,12 +101,18 @@ public class PlayerPanel extends JPanel
 	@Setter
 	private boolean showInfo;
 	private final Map<Integer, Boolean> tabMap = new HashMap<>();
+	// StateDigest sections currently displayed, only updated on the EDT but read from the client thread
+	private volatile int visibleSections;
+	// Notified on the EDT whenever the visible sections change
+	private final Runnable visibleSectionsListener;
 
 	public PlayerPanel(final PartyPlayer selectedPlayer, final PartyPanelConfig config,
-					   final SpriteManager spriteManager, final ItemManager itemManager)
+					   final SpriteManager spriteManager, final ItemManager itemManager,
+					   final Runnable visibleSectionsListener)
 	{
 		this.player = selectedPlayer;
 		this.config = config;
+		this.visibleSectionsListener = visibleSectionsListener;
 		this.spriteManager = spriteManager;
 		this.itemManager = itemManager;
 		this.showInfo = config.autoExpandMembers();
@@ -181,7 +189,8 @@ public class PlayerPanel extends JPanel
 					{
 						tabMap.replaceAll((k, v) -> false);
 						tabMap.put(spriteID, true);
-						updatePlayerData(player, false);
+						updateVisibleSections();
+						updatePlayerData(player, PlayerChanges.ALL & ~PlayerChanges.BANNER);
 						return true;
 					});
 
@@ -189,60 +198,93 @@ public class PlayerPanel extends JPanel
 					{
 						tabGroup.select(tab);
 						tabMap.put(spriteID, true);
+						updateVisibleSections();
 					}
 				}));
 	}
 
+	private void updateVisibleSections()
+	{
+		int sections = 0;
+		if (showInfo)
+		{
+			sections |= isTabSelected(SpriteID.SideiconsInterface.INVENTORY) ? 1 << StateDigest.INVENTORY : 0;
+			sections |= isTabSelected(SpriteID.SideiconsInterface.EQUIPMENT) ? 1 << StateDigest.EQUIPMENT : 0;
+			sections |= isTabSelected(SpriteID.SideiconsInterface.PRAYER) ? 1 << StateDigest.PRAYERS : 0;
+			sections |= isTabSelected(SpriteID.SideiconsInterface.STATS) ? 1 << StateDigest.STATS : 0;
+		}
+
+		if (sections != visibleSections)
+		{
+			visibleSections = sections;
+			visibleSectionsListener.run();
+		}
+	}
+
+	private boolean isTabSelected(final int spriteID)
+	{
+		return tabMap.getOrDefault(spriteID, false);
+	}
+
 	private ImageIcon createImageIcon(BufferedImage image)
 	{
 		return new ImageIcon(ImageUtil.resizeImage(image, IMAGE_SIZE.width, IMAGE_SIZE.height));
 	}
 
-	// TODO add smarter ways to update data
-	public void updatePlayerData(PartyPlayer newPlayer, boolean hasBreakingBannerChange)
+	/**
+	 * @param changes the {@link PlayerChanges} to update, only the components displaying them are touched
+	 */
+	public void updatePlayerData(PartyPlayer newPlayer, int changes)
 	{
 		player = newPlayer;
 		banner.setPlayer(player);
 
-		if (hasBreakingBannerChange)
+		if ((changes & PlayerChanges.BANNER) != 0)
 		{
 			// spellbook is a breaking change, so lets always refetch the sprite
 			banner.updateSpellbookIcon(player.getSpellbook(), spriteManager);
 			banner.recreatePanel();
 		}
 
-		if (player.getStats() != null)
+		if (player.getStats() != null && (changes & PlayerChanges.BANNER_STATS) != 0)
 		{
 			banner.refreshStats();
 		}
 
-		BufferedImage heart = null;
-		if (player.getPoison() >= VENOM_THRESHOLD)
-		{
-			heart = HEART_VENOM;
-		}
-		else if (player.getPoison() > 0)
+		if ((changes & PlayerChanges.HEART) != 0)
 		{
-			heart = HEART_POISON;
+			BufferedImage heart = null;
+			if (player.getPoison() >= VENOM_THRESHOLD)
+			{
+				heart = HEART_VENOM;
+			}
+			else if (player.getPoison() > 0)
+			{
+				heart = HEART_POISON;
+			}
+			else if (player.getDisease() > 0)
+			{
+				heart = HEART_DISEASE;
+			}
+			banner.setCurrentHeart(heart, spriteManager);
 		}
-		else if (player.getDisease() > 0)
+
+		if ((changes & PlayerChanges.STAMINA) != 0)
 		{
-			heart = HEART_DISEASE;
+			banner.setUsingStamIcon(player.getStamina() > 0, spriteManager);
 		}
-		banner.setCurrentHeart(heart, spriteManager);
-		banner.setUsingStamIcon(player.getStamina() > 0, spriteManager);
 
 		if (!showInfo)
 		{
 			return;
 		}
 
-		if (tabMap.getOrDefault(SpriteID.SideiconsInterface.INVENTORY, false))
+		if ((changes & PlayerChanges.INVENTORY) != 0 && tabMap.getOrDefault(SpriteID.SideiconsInterface.INVENTORY, false))
 		{
 			inventoryPanel.updateInventory(player.getInventory(), player.getRunesInPouch());
 		}
 
-		if (tabMap.getOrDefault(SpriteID.SideiconsInterface.INVENTORY, false))
+		if ((changes & PlayerChanges.EQUIPMENT) != 0 && tabMap.getOrDefault(SpriteID.SideiconsInterface.EQUIPMENT, false))
 		{
 			for (final EquipmentInventorySlot equipSlot : EquipmentInventorySlot.values())
 			{
@@ -271,7 +313,7 @@ public class PlayerPanel extends JPanel
 			this.equipmentPanel.setQuiver(player.getQuiver());
 		}
 
-		if (player.getStats() != null && tabMap.getOrDefault(SpriteID.SideiconsInterface.STATS, false))
+		if (player.getStats() != null && (changes & PlayerChanges.SKILLS) != 0 && tabMap.getOrDefault(SpriteID.SideiconsInterface.STATS, false))
 		{
 			int totalLevel = 0;
 			for (final Skill s : Skill.values())
@@ -283,7 +325,7 @@ public class PlayerPanel extends JPanel
 			skillsPanel.getTotalLevelPanel().updateTotalLevel(totalLevel);
 		}
 
-		if (player.getPrayers() != null && tabMap.getOrDefault(SpriteID.SideiconsInterface.PRAYER, false))
+		if (player.getPrayers() != null && (changes & PlayerChanges.PRAYERS) != 0 && tabMap.getOrDefault(SpriteID.SideiconsInterface.PRAYER, false))
 		{
 			boolean unlockChanged = false;
 			for (final Map.Entry<Prayer, PrayerSlot> entry : prayersPanel.getSlotMap().entrySet())
@@ -302,7 +344,7 @@ public class PlayerPanel extends JPanel
 				prayersPanel.updateSlots();
 			}
 
-			prayersPanel.updatePrayerRemaining(player.getSkillBoostedLevel(Skill.PRAYER), player.getSkillRealLevel(Skill.PRAYER));
+			prayersPanel.updatePrayerRemaining(player.getDisplayedPrayer(), player.getSkillRealLevel(Skill.PRAYER));
 		}
 	}
 
@@ -327,6 +369,7 @@ public class PlayerPanel extends JPanel
 		tabGroup.setBorder(new EmptyBorder(10, 0, 4, 0));
 
 		tabMap.clear();
+		updateVisibleSections();
 		addTab(tabGroup, SpriteID.SideiconsInterface.INVENTORY, inventoryPanel, "Inventory");
 		addTab(tabGroup, SpriteID.SideiconsInterface.EQUIPMENT, equipmentPanel, "Equipment");
 		addTab(tabGroup, SpriteID.SideiconsInterface.PRAYER, prayersPanel, "Prayers");
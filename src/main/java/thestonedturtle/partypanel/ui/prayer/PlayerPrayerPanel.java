@@ -75,7 +75,7 @@ public class PlayerPrayerPanel extends JPanel
 
 		add(prayerContainer, BorderLayout.NORTH);
 		add(createPrayerRemainingPanel(spriteManager), BorderLayout.SOUTH);
-		updatePrayerRemaining(player.getSkillBoostedLevel(Skill.PRAYER), player.getSkillRealLevel(Skill.PRAYER));
+		updatePrayerRemaining(player.getDisplayedPrayer(), player.getSkillRealLevel(Skill.PRAYER));
 	}
 
 	private void createPrayerSlots(final Prayers prayers, final SpriteManager spriteManager)
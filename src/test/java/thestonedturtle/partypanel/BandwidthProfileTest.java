@@ -0,0 +1,91 @@
+package thestonedturtle.partypanel;
+
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import thestonedturtle.partypanel.data.GameItem;
+import thestonedturtle.partypanel.data.PartyPlayer;
+import thestonedturtle.partypanel.data.Prayers;
+import thestonedturtle.partypanel.data.StateDigest;
+import thestonedturtle.partypanel.data.Stats;
+import thestonedturtle.partypanel.data.events.ChangeLanes;
+import thestonedturtle.partypanel.data.events.PartyBatchedChange;
+
+public class BandwidthProfileTest
+{
+	private static final long BANNER_SKILLS = 1L << Skill.HITPOINTS.ordinal() | 1L << Skill.PRAYER.ordinal();
+
+	private static PartyPlayer player()
+	{
+		final PartyPlayer p = new PartyPlayer(null);
+		p.setUsername("Zezima");
+		p.setStats(new Stats());
+		p.setPrayers(new Prayers());
+		p.setWorld(302);
+		p.getInventory()[0] = new GameItem(995, 1000, "Coins", true, 1);
+		p.getEquipment()[3] = new GameItem(4151, 1, "Abyssal whip", false, 1500000);
+		return p;
+	}
+
+	@Test
+	public void everyProfilePublishesTheBanner()
+	{
+		for (final BandwidthProfile profile : BandwidthProfile.values())
+		{
+			assertTrue(profile.name(), (profile.getSections() & 1 << StateDigest.MISC) != 0);
+			assertTrue(profile.name(), profile.getSendPeriodScale() >= 1);
+		}
+		assertEquals(StateDigest.ALL_SECTIONS, BandwidthProfile.RAID.getSections());
+		assertEquals(1, BandwidthProfile.RAID.getSendPeriodScale());
+	}
+
+	@Test
+	public void unpublishedChangesAreDroppedExceptTheBannerSkills()
+	{
+		final ChangeLanes lanes = new ChangeLanes();
+		lanes.getBulk().setI(new int[] {995, 10});
+		lanes.getBulk().setE(new int[] {4151, 1});
+		lanes.getBulk().setPrayers(1, 2, 3);
+		lanes.addStat(Skill.ATTACK, 99, 99);
+		lanes.addStat(Skill.HITPOINTS, 99, 50);
+
+		final int stale = lanes.removeSections(BandwidthProfile.MINIMAL.getSections(), BANNER_SKILLS);
+		assertEquals(StateDigest.ALL_SECTIONS & ~(1 << StateDigest.MISC), stale);
+
+		final PartyBatchedChange c = lanes.poll(true);
+		assertNull(c.getI());
+		assertNull(c.getE());
+		assertNull(c.getAp());
+		assertEquals(1L << Skill.HITPOINTS.ordinal(), c.getSm());
+	}
+
+	@Test
+	public void skillingKeepsTheInventory()
+	{
+		final ChangeLanes lanes = new ChangeLanes();
+		lanes.getBulk().setI(new int[] {995, 10});
+		lanes.getBulk().setE(new int[] {4151, 1});
+		lanes.addStat(Skill.ATTACK, 99, 99);
+
+		assertEquals(1 << StateDigest.EQUIPMENT, lanes.removeSections(BandwidthProfile.SKILLING.getSections(), BANNER_SKILLS));
+		final PartyBatchedChange c = lanes.poll(true);
+		assertEquals(2, c.getI().length);
+		assertNull(c.getE());
+		assertEquals(1L << Skill.ATTACK.ordinal(), c.getSm());
+	}
+
+	@Test
+	public void unpublishedSectionsDontCauseResyncs()
+	{
+		final PartyPlayer sender = player();
+		final PartyPlayer receiver = player();
+		receiver.getInventory()[0] = null;
+		receiver.getEquipment()[3] = null;
+
+		final int[] digest = StateDigest.compute(sender, BandwidthProfile.SOCIAL.getSections());
+		assertEquals(1 << StateDigest.EQUIPMENT, StateDigest.mismatches(digest, StateDigest.compute(receiver)));
+		assertEquals(0, StateDigest.mismatches(StateDigest.compute(sender, BandwidthProfile.MINIMAL.getSections()), StateDigest.compute(receiver)));
+	}
+}
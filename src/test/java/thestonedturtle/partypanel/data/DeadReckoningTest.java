@@ -0,0 +1,102 @@
+package thestonedturtle.partypanel.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class DeadReckoningTest
+{
+	@Test
+	public void singleSampleIsntExtrapolated()
+	{
+		final DeadReckoning d = new DeadReckoning(DeadReckoning.RUN_ENERGY_MAX_RATE);
+		assertFalse(d.isSampled());
+		d.sample(50, 100);
+		assertTrue(d.isSampled());
+		assertFalse(d.isExtrapolating(110));
+		assertFalse(d.isExpired(200));
+		assertEquals(50, d.predict(110, 100));
+	}
+
+	@Test
+	public void extrapolatesTheRateBetweenSamples()
+	{
+		final DeadReckoning d = new DeadReckoning(DeadReckoning.PRAYER_MAX_RATE);
+		d.sample(70, 100);
+		d.sample(60, 120);
+		assertTrue(d.isExtrapolating(130));
+		assertEquals(55, d.predict(130, 70));
+		// Rounded towards the last value sent
+		assertEquals(60, d.predict(121, 70));
+		assertEquals(59, d.predict(122, 70));
+		assertEquals(60, d.predict(120, 70));
+	}
+
+	@Test
+	public void predictionsAreClamped()
+	{
+		final DeadReckoning d = new DeadReckoning(DeadReckoning.RUN_ENERGY_MAX_RATE);
+		d.sample(90, 0);
+		d.sample(95, 5);
+		assertEquals(100, d.predict(30, 100));
+
+		final DeadReckoning draining = new DeadReckoning(DeadReckoning.RUN_ENERGY_MAX_RATE);
+		draining.sample(10, 0);
+		draining.sample(8, 1);
+		assertEquals(0, draining.predict(40, 100));
+	}
+
+	@Test
+	public void oneOffChangesArentExtrapolated()
+	{
+		final DeadReckoning d = new DeadReckoning(DeadReckoning.PRAYER_MAX_RATE);
+		d.sample(10, 100);
+		// Drinking a prayer potion
+		d.sample(40, 101);
+		assertFalse(d.isExtrapolating(110));
+		assertEquals(40, d.predict(110, 99));
+	}
+
+	@Test
+	public void samplesTooFarApartArentExtrapolated()
+	{
+		final DeadReckoning d = new DeadReckoning(DeadReckoning.RUN_ENERGY_MAX_RATE);
+		d.sample(10, 0);
+		d.sample(20, DeadReckoning.MAX_TICKS + 1);
+		assertFalse(d.isExtrapolating(DeadReckoning.MAX_TICKS + 10));
+	}
+
+	@Test
+	public void expiredPredictionsAreHeld()
+	{
+		final DeadReckoning d = new DeadReckoning(DeadReckoning.RUN_ENERGY_MAX_RATE);
+		d.sample(0, 0);
+		d.sample(1, 1);
+		assertFalse(d.isExpired(DeadReckoning.MAX_TICKS));
+		assertTrue(d.isExtrapolating(DeadReckoning.MAX_TICKS));
+
+		final int expiry = 1 + DeadReckoning.MAX_TICKS;
+		assertTrue(d.isExpired(expiry));
+		assertFalse(d.isExtrapolating(expiry));
+		assertEquals(51, d.predict(expiry, 100));
+		assertEquals(51, d.predict(expiry + 20, 100));
+
+		// The sender resending the actual value restarts the extrapolation
+		d.sample(40, expiry);
+		assertFalse(d.isExpired(expiry));
+		assertTrue(d.isExtrapolating(expiry + 1));
+	}
+
+	@Test
+	public void resetForgetsSamples()
+	{
+		final DeadReckoning d = new DeadReckoning(DeadReckoning.RUN_ENERGY_MAX_RATE);
+		d.sample(0, 0);
+		d.sample(1, 1);
+		d.reset();
+		assertFalse(d.isSampled());
+		d.sample(5, 2);
+		assertFalse(d.isExtrapolating(3));
+	}
+}
@@ -0,0 +1,93 @@
+package thestonedturtle.partypanel.data;
+
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class StateDigestTest
+{
+	private static PartyPlayer player()
+	{
+		final PartyPlayer p = new PartyPlayer(null);
+		p.setUsername("Zezima");
+		p.setStats(new Stats());
+		p.setPrayers(new Prayers());
+		p.setWorld(302);
+		p.getInventory()[0] = new GameItem(995, 1000, "Coins", true, 1);
+		p.getEquipment()[3] = new GameItem(4151, 1, "Abyssal whip", false, 1500000);
+		return p;
+	}
+
+	private static int mismatches(final PartyPlayer expected, final PartyPlayer actual)
+	{
+		return StateDigest.mismatches(StateDigest.compute(expected), StateDigest.compute(actual));
+	}
+
+	@Test
+	public void samePlayerMatches()
+	{
+		assertEquals(0, mismatches(player(), player()));
+	}
+
+	@Test
+	public void onlyTheChangedSectionMismatches()
+	{
+		final PartyPlayer p = player();
+		p.getInventory()[1] = new GameItem(385, 1, "Shark", false, 800);
+		assertEquals(1 << StateDigest.INVENTORY, mismatches(player(), p));
+
+		final PartyPlayer q = player();
+		q.setSkillsRealLevel(Skill.ATTACK, 99);
+		assertEquals(1 << StateDigest.STATS, mismatches(player(), q));
+
+		final PartyPlayer e = player();
+		e.getEquipment()[3] = null;
+		assertEquals(1 << StateDigest.EQUIPMENT, mismatches(player(), e));
+
+		final PartyPlayer m = player();
+		m.setWorld(330);
+		assertEquals(1 << StateDigest.MISC, mismatches(player(), m));
+
+		final PartyPlayer r = player();
+		r.getPrayers().getPrayerData().get(r.getPrayers().getPrayerData().keySet().iterator().next()).setEnabled(true);
+		assertEquals(1 << StateDigest.PRAYERS, mismatches(player(), r));
+	}
+
+	@Test
+	public void valuesAllowedToLagAreIgnored()
+	{
+		final PartyPlayer p = player();
+		p.getStats().setRunEnergy(50);
+		p.getStats().setSpecialPercent(25);
+		p.setStamina(100);
+		p.setSkillsBoostedLevel(Skill.PRAYER, 0);
+		assertEquals(0, mismatches(player(), p));
+	}
+
+	@Test
+	public void trailingEmptySlotsAreIgnored()
+	{
+		final PartyPlayer p = player();
+		p.setInventory(new GameItem[] {p.getInventory()[0]});
+		assertEquals(0, mismatches(player(), p));
+	}
+
+	@Test
+	public void unpublishedSectionsNeverMismatch()
+	{
+		final PartyPlayer p = player();
+		p.getInventory()[0] = null;
+		p.setWorld(330);
+
+		final int[] expected = StateDigest.compute(player(), StateDigest.ALL_SECTIONS & ~(1 << StateDigest.INVENTORY));
+		assertEquals(StateDigest.UNPUBLISHED, expected[StateDigest.INVENTORY]);
+		assertEquals(1 << StateDigest.MISC, StateDigest.mismatches(expected, StateDigest.compute(p)));
+	}
+
+	@Test
+	public void missingSectionsMismatch()
+	{
+		final int[] digest = StateDigest.compute(player());
+		assertEquals(1 << StateDigest.MISC, StateDigest.mismatches(new int[] {digest[0], digest[1], digest[2], digest[3]}, digest));
+	}
+}
@@ -0,0 +1,64 @@
+package thestonedturtle.partypanel.data.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ActivityTrackerTest
+{
+	@Test
+	public void startsActiveAndBecomesIdle()
+	{
+		final ActivityTracker tracker = new ActivityTracker();
+		assertEquals(ActivityTracker.Activity.ACTIVE, tracker.getActivity());
+		assertEquals(ActivityTracker.Activity.IDLE, tracker.update(100));
+		assertEquals(ActivityTracker.Activity.IDLE, tracker.getActivity());
+	}
+
+	@Test
+	public void activityTimesOut()
+	{
+		final ActivityTracker tracker = new ActivityTracker();
+		tracker.active(100);
+		assertEquals(ActivityTracker.Activity.ACTIVE, tracker.update(100));
+		assertEquals(ActivityTracker.Activity.ACTIVE, tracker.update(125));
+		assertEquals(ActivityTracker.Activity.IDLE, tracker.update(126));
+	}
+
+	@Test
+	public void combatTimesOutToActive()
+	{
+		final ActivityTracker tracker = new ActivityTracker();
+		tracker.combat(100);
+		assertEquals(ActivityTracker.Activity.COMBAT, tracker.update(110));
+		assertEquals(ActivityTracker.Activity.ACTIVE, tracker.update(111));
+		assertEquals(ActivityTracker.Activity.IDLE, tracker.update(126));
+	}
+
+	@Test
+	public void ticksFromBeforeALoginAreIgnored()
+	{
+		final ActivityTracker tracker = new ActivityTracker();
+		tracker.combat(5000);
+		// The tick count restarted
+		assertEquals(ActivityTracker.Activity.IDLE, tracker.update(10));
+	}
+
+	@Test
+	public void busierActivitiesSendMoreOften()
+	{
+		assertTrue(ActivityTracker.Activity.COMBAT.getSendPeriod() < ActivityTracker.Activity.ACTIVE.getSendPeriod());
+		assertTrue(ActivityTracker.Activity.ACTIVE.getSendPeriod() < ActivityTracker.Activity.IDLE.getSendPeriod());
+	}
+
+	@Test
+	public void resetForgetsActivity()
+	{
+		final ActivityTracker tracker = new ActivityTracker();
+		tracker.combat(100);
+		tracker.update(100);
+		tracker.reset();
+		assertEquals(ActivityTracker.Activity.ACTIVE, tracker.getActivity());
+		assertEquals(ActivityTracker.Activity.IDLE, tracker.update(100));
+	}
+}
@@ -0,0 +1,54 @@
+package thestonedturtle.partypanel.data.events;
+
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class BackoffTest
+{
+	private static final long START = 1_000_000;
+
+	private static void assertBetween(final long min, final long max, final long delay)
+	{
+		assertTrue(delay + " not in [" + min + ", " + max + "]", delay >= min && delay <= max);
+	}
+
+	@Test
+	public void delayDoublesWithEveryAttempt()
+	{
+		final Backoff backoff = new Backoff(1000, 30000, 60000);
+		assertBetween(500, 1000, backoff.nextDelay(START));
+		assertBetween(1000, 2000, backoff.nextDelay(START + 1000));
+		assertBetween(2000, 4000, backoff.nextDelay(START + 2000));
+	}
+
+	@Test
+	public void delayIsCapped()
+	{
+		final Backoff backoff = new Backoff(1000, 30000, 60000);
+		long delay = 0;
+		for (int attempt = 0; attempt < 100; attempt++)
+		{
+			delay = backoff.nextDelay(START + attempt);
+		}
+		assertBetween(15000, 30000, delay);
+	}
+
+	@Test
+	public void attemptsAreForgottenAfterAQuietPeriod()
+	{
+		final Backoff backoff = new Backoff(1000, 30000, 60000);
+		backoff.nextDelay(START);
+		backoff.nextDelay(START + 1000);
+		assertBetween(500, 1000, backoff.nextDelay(START + 1000 + 60001));
+	}
+
+	@Test
+	public void resetForgetsAttempts()
+	{
+		final Backoff backoff = new Backoff(1000, 30000, 60000);
+		backoff.nextDelay(START);
+		backoff.nextDelay(START + 1000);
+		backoff.reset();
+		assertBetween(500, 1000, backoff.nextDelay(START + 2000));
+	}
+}
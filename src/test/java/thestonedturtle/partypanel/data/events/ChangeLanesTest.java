@@ -0,0 +1,129 @@
+package thestonedturtle.partypanel.data.events;
+
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import thestonedturtle.partypanel.data.StateDigest;
+
+public class ChangeLanesTest
+{
+	private static final int ATTACK = Skill.ATTACK.ordinal();
+	private static final int HITPOINTS = Skill.HITPOINTS.ordinal();
+	private static final int SPECIAL = PartyMiscChange.PartyMisc.S.ordinal();
+	private static final int RUN_ENERGY = PartyMiscChange.PartyMisc.R.ordinal();
+
+	@Test
+	public void vitalsAreSentWithoutTheBulkLane()
+	{
+		final ChangeLanes lanes = new ChangeLanes();
+		lanes.addStat(Skill.HITPOINTS, 99, 50);
+		lanes.addStat(Skill.ATTACK, 99, 99);
+		lanes.addMisc(PartyMiscChange.PartyMisc.S, 500);
+		lanes.addMisc(PartyMiscChange.PartyMisc.R, 10000);
+
+		final PartyBatchedChange urgent = lanes.poll(false);
+		assertEquals(1L << HITPOINTS, urgent.getSm());
+		assertEquals(1 << SPECIAL, urgent.getMm());
+		assertFalse(lanes.getBulk().isEmpty());
+		assertTrue(lanes.getUrgent().isEmpty());
+		assertNull(lanes.poll(false));
+
+		final PartyBatchedChange bulk = lanes.poll(true);
+		assertEquals(1L << ATTACK, bulk.getSm());
+		assertEquals(1 << RUN_ENERGY, bulk.getMm());
+		assertTrue(lanes.isEmpty());
+	}
+
+	@Test
+	public void bulkLaneIsSentAlongsideTheVitals()
+	{
+		final ChangeLanes lanes = new ChangeLanes();
+		lanes.addStat(Skill.HITPOINTS, 99, 50);
+		lanes.addStat(Skill.ATTACK, 99, 99);
+
+		final PartyBatchedChange c = lanes.poll(true);
+		assertEquals(1L << HITPOINTS | 1L << ATTACK, c.getSm());
+		assertTrue(lanes.isEmpty());
+		assertNull(lanes.poll(true));
+	}
+
+	@Test
+	public void newerVitalsArentOverwrittenByHeldBackOnes()
+	{
+		final ChangeLanes lanes = new ChangeLanes();
+		lanes.addStat(Skill.HITPOINTS, 99, 50);
+		lanes.addStat(Skill.ATTACK, 99, 99);
+		assertEquals(50, lanes.poll(false).getSb()[HITPOINTS]);
+
+		// The vital is always queued into the same lane, so the held back batch can't carry an older value of it
+		lanes.addStat(Skill.HITPOINTS, 99, 40);
+		final PartyBatchedChange c = lanes.poll(true);
+		assertEquals(40, c.getSb()[HITPOINTS]);
+		assertEquals(99, c.getSb()[ATTACK]);
+	}
+
+	@Test
+	public void heldChangesAreFlushedAsOneBatchOnReconnect()
+	{
+		final ChangeLanes lanes = new ChangeLanes();
+
+		// Disconnected for a few ticks
+		lanes.addStat(Skill.HITPOINTS, 99, 50);
+		lanes.addMisc(PartyMiscChange.PartyMisc.S, 1000);
+		lanes.hold();
+		lanes.addStat(Skill.HITPOINTS, 99, 45);
+		lanes.getBulk().setI(new int[] {995, 10});
+		lanes.hold();
+		lanes.addStat(Skill.HITPOINTS, 99, 40);
+		lanes.hold();
+		assertTrue(lanes.getUrgent().isEmpty());
+
+		// Reconnected
+		final PartyBatchedChange c = lanes.poll(true);
+		assertEquals(1L << HITPOINTS, c.getSm());
+		assertEquals(40, c.getSb()[HITPOINTS]);
+		assertEquals(1000, c.getMv()[SPECIAL]);
+		assertArrayEquals(new int[] {995, 10}, c.getI());
+		assertTrue(lanes.isEmpty());
+	}
+
+	@Test
+	public void removedSectionsAreReported()
+	{
+		final ChangeLanes lanes = new ChangeLanes();
+		lanes.getBulk().setI(new int[] {995, 10});
+		lanes.addStat(Skill.HITPOINTS, 99, 50);
+		lanes.addStat(Skill.ATTACK, 99, 99);
+
+		final long keep = 1L << HITPOINTS;
+		final int stale = lanes.removeSections(StateDigest.ALL_SECTIONS & ~(1 << StateDigest.INVENTORY | 1 << StateDigest.STATS | 1 << StateDigest.EQUIPMENT), keep);
+		assertEquals(1 << StateDigest.INVENTORY | 1 << StateDigest.STATS, stale);
+
+		final PartyBatchedChange c = lanes.poll(true);
+		assertNull(c.getI());
+		assertEquals(1L << HITPOINTS, c.getSm());
+		assertEquals(0, lanes.removeSections(0, keep));
+	}
+
+	@Test
+	public void expeditedValuesOnlyWaitInOneLane()
+	{
+		final ChangeLanes lanes = new ChangeLanes();
+		lanes.addMisc(PartyMiscChange.PartyMisc.R, 5000);
+		lanes.expediteMisc(PartyMiscChange.PartyMisc.R, 4000);
+		assertFalse(lanes.getBulk().hasMisc(PartyMiscChange.PartyMisc.R));
+
+		// Later values follow the expedited one until it is sent, so the bulk lane can't overwrite it with an older value
+		lanes.addMisc(PartyMiscChange.PartyMisc.R, 3900);
+		assertTrue(lanes.getBulk().isEmpty());
+		assertEquals(3900, lanes.poll(false).getMv()[RUN_ENERGY]);
+
+		lanes.addMisc(PartyMiscChange.PartyMisc.R, 3800);
+		assertTrue(lanes.getUrgent().isEmpty());
+		assertEquals(3800, lanes.poll(true).getMv()[RUN_ENERGY]);
+	}
+}
@@ -0,0 +1,280 @@
+package thestonedturtle.partypanel.data.events;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class CompactChangeCodecTest
+{
+	private static final int SKILL_COUNT = Skill.values().length;
+	private static final int MISC_COUNT = PartyMiscChange.PartyMisc.values().length;
+	private static final int RUN = PartyMiscChange.PartyMisc.R.ordinal();
+	private static final int PRAYER = Skill.PRAYER.ordinal();
+
+	// Section presence bits, see CompactChangeCodec
+	private static final int STATS = 1 << 6;
+	private static final int MISC = 1 << 7;
+
+	@Test
+	public void roundTripsEverySection()
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setI(new int[] {995, 1000, -1, 0, 4151, 1});
+		c.setE(new int[] {-1, 0, 11840, 1});
+		c.setDi(new int[] {3, 385, 1});
+		c.setDe(new int[] {1, -1, 0});
+		c.setQi(new int[] {0, 999});
+		c.setQe(new int[] {13, 250});
+		c.setSm((1L << PRAYER) | (1L << Skill.HITPOINTS.ordinal()));
+		c.setSl(levels(Skill.PRAYER, 77, Skill.HITPOINTS, 99));
+		c.setSb(levels(Skill.PRAYER, 43, Skill.HITPOINTS, 121));
+		c.setMm((1 << RUN) | (1 << PartyMiscChange.PartyMisc.P.ordinal()) | (1 << PartyMiscChange.PartyMisc.U.ordinal()));
+		c.setMv(misc(PartyMiscChange.PartyMisc.R, 57, PartyMiscChange.PartyMisc.P, -12));
+		c.setMu("Zezima");
+		c.setAp(0x7FFFFFFF);
+		c.setEp(0);
+		c.setUp(3);
+		c.setRp(new int[] {PartyBatchedChange.packRune(554, 16000)});
+		c.setQ(new int[] {11212, 88});
+		c.setSq(300);
+		c.setTk(123456);
+		c.removeDefaults();
+
+		final PartyBatchedChange d = CompactChangeCodec.decode(CompactChangeCodec.encode(c, false));
+		assertArrayEquals(c.getI(), d.getI());
+		assertArrayEquals(c.getE(), d.getE());
+		assertArrayEquals(c.getDi(), d.getDi());
+		assertArrayEquals(c.getDe(), d.getDe());
+		assertArrayEquals(c.getQi(), d.getQi());
+		assertArrayEquals(c.getQe(), d.getQe());
+		assertEquals(c.getSm(), d.getSm());
+		assertEquals(77, d.getSl()[PRAYER]);
+		assertEquals(43, d.getSb()[PRAYER]);
+		assertEquals(121, d.getSb()[Skill.HITPOINTS.ordinal()]);
+		assertEquals(c.getMm(), d.getMm());
+		assertEquals(57, d.getMv()[RUN]);
+		assertEquals(-12, d.getMv()[PartyMiscChange.PartyMisc.P.ordinal()]);
+		assertEquals("Zezima", d.getMu());
+		assertEquals(c.getAp(), d.getAp());
+		assertEquals(c.getEp(), d.getEp());
+		assertEquals(c.getUp(), d.getUp());
+		assertArrayEquals(c.getRp(), d.getRp());
+		assertArrayEquals(c.getQ(), d.getQ());
+		assertEquals(300, d.getSq());
+		assertEquals(123456, d.getTk());
+		assertNull(d.getS());
+		assertNull(d.getM());
+	}
+
+	@Test
+	public void absentSectionsStayAbsent()
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setQ(new int[0]);
+
+		final byte[] payload = CompactChangeCodec.encode(c);
+		// Format, sections & the empty quiver
+		assertEquals(4, payload.length);
+
+		final PartyBatchedChange d = CompactChangeCodec.decode(payload);
+		assertArrayEquals(new int[0], d.getQ());
+		assertNull(d.getI());
+		assertNull(d.getAp());
+		assertEquals(0, d.getSm());
+		assertEquals(0, d.getMm());
+		assertEquals(0, d.getSq());
+	}
+
+	@Test
+	public void listChangesAreFoldedIntoColumns()
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setS(new ArrayList<>(Arrays.asList(
+				new PartyStatChange(PRAYER, 70, 70),
+				new PartyStatChange(PRAYER, 70, 69))));
+		c.setM(new ArrayList<>(Arrays.asList(
+				new PartyMiscChange(PartyMiscChange.PartyMisc.W, 302),
+				new PartyMiscChange(PartyMiscChange.PartyMisc.U, "Lynx Titan"))));
+
+		final PartyBatchedChange d = CompactChangeCodec.decode(CompactChangeCodec.encode(c));
+		assertEquals(1L << PRAYER, d.getSm());
+		assertEquals(69, d.getSb()[PRAYER]);
+		assertEquals((1 << PartyMiscChange.PartyMisc.W.ordinal()) | (1 << PartyMiscChange.PartyMisc.U.ordinal()), d.getMm());
+		assertEquals(302, d.getMv()[PartyMiscChange.PartyMisc.W.ordinal()]);
+		assertEquals("Lynx Titan", d.getMu());
+	}
+
+	@Test
+	public void unknownSkillsAreSkipped()
+	{
+		final Payload p = new Payload();
+		p.varint(CompactChangeCodec.FORMAT_VERSION);
+		p.varint(STATS | MISC);
+		p.varlong((1L << PRAYER) | (1L << 40));
+		p.varint(80);
+		p.varint(75);
+		p.varint(11);
+		p.varint(12);
+		p.varint(1 << RUN);
+		p.signedVarint(30);
+
+		final PartyBatchedChange d = CompactChangeCodec.decode(p.toByteArray());
+		assertEquals(1L << PRAYER, d.getSm());
+		assertEquals(80, d.getSl()[PRAYER]);
+		assertEquals(75, d.getSb()[PRAYER]);
+		assertEquals(SKILL_COUNT, d.getSl().length);
+		// Everything after the unknown skill is still read from the right position
+		assertEquals(30, d.getMv()[RUN]);
+	}
+
+	@Test
+	public void unknownMiscTypesAreSkipped()
+	{
+		final Payload p = new Payload();
+		p.varint(CompactChangeCodec.FORMAT_VERSION);
+		p.varint(MISC | STATS);
+		p.varlong(1L << PRAYER);
+		p.varint(90);
+		p.varint(90);
+		p.varint((1 << RUN) | (1 << MISC_COUNT) | (1 << 30));
+		p.signedVarint(44);
+		p.signedVarint(-5);
+		p.signedVarint(70000);
+
+		final PartyBatchedChange d = CompactChangeCodec.decode(p.toByteArray());
+		assertEquals(1 << RUN, d.getMm());
+		assertEquals(44, d.getMv()[RUN]);
+		assertEquals(MISC_COUNT, d.getMv().length);
+		assertEquals(90, d.getSb()[PRAYER]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownFormatIsRejected()
+	{
+		CompactChangeCodec.decode(new byte[] {(byte) (CompactChangeCodec.FORMAT_VERSION + 1), 0});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void truncatedPayloadIsRejected()
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setI(new int[] {995, 1000, 4151, 1});
+
+		final byte[] payload = CompactChangeCodec.encode(c);
+		CompactChangeCodec.decode(Arrays.copyOf(payload, payload.length - 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void oversizedLengthIsRejected()
+	{
+		final Payload p = new Payload();
+		p.varint(CompactChangeCodec.FORMAT_VERSION);
+		p.varint(1); // Inventory
+		p.varint(1 << 20);
+		CompactChangeCodec.decode(p.toByteArray());
+	}
+
+	@Test
+	public void largePayloadsAreDeflated()
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		final int[] items = new int[56];
+		for (int slot = 0; slot < 28; slot++)
+		{
+			items[slot * 2] = 20000 + slot;
+			items[slot * 2 + 1] = 1;
+		}
+		c.setI(items);
+		c.setE(Arrays.copyOf(items, 28));
+
+		final byte[] raw = CompactChangeCodec.encode(c, false);
+		assertTrue(raw.length >= CompactChangeCodec.COMPRESSION_THRESHOLD);
+		assertEquals(0, raw[0] & CompactChangeCodec.DEFLATED);
+
+		final byte[] deflated = CompactChangeCodec.encode(c, true);
+		assertNotEquals(0, deflated[0] & CompactChangeCodec.DEFLATED);
+		assertTrue(deflated.length < raw.length);
+
+		final PartyBatchedChange d = CompactChangeCodec.decode(deflated);
+		assertArrayEquals(c.getI(), d.getI());
+		assertArrayEquals(c.getE(), d.getE());
+	}
+
+	@Test
+	public void smallPayloadsArentDeflated()
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setDi(new int[] {0, 995, 10});
+
+		assertEquals(0, CompactChangeCodec.encode(c, true)[0] & CompactChangeCodec.DEFLATED);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void payloadsInflatingPastTheCapAreRejected()
+	{
+		final Deflater deflater = new Deflater();
+		deflater.setInput(new byte[256 * 1024]);
+		deflater.finish();
+
+		final byte[] out = new byte[4096];
+		out[0] = (byte) (CompactChangeCodec.FORMAT_VERSION | CompactChangeCodec.DEFLATED);
+		final int length = 1 + deflater.deflate(out, 1, out.length - 1);
+		deflater.end();
+
+		CompactChangeCodec.decode(Arrays.copyOf(out, length));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void malformedDeflatedPayloadIsRejected()
+	{
+		CompactChangeCodec.decode(new byte[] {(byte) (CompactChangeCodec.FORMAT_VERSION | CompactChangeCodec.DEFLATED), 1, 2, 3, 4});
+	}
+
+	private static int[] levels(final Skill a, final int aLevel, final Skill b, final int bLevel)
+	{
+		final int[] levels = new int[SKILL_COUNT];
+		levels[a.ordinal()] = aLevel;
+		levels[b.ordinal()] = bLevel;
+		return levels;
+	}
+
+	private static int[] misc(final PartyMiscChange.PartyMisc a, final int aValue, final PartyMiscChange.PartyMisc b, final int bValue)
+	{
+		final int[] values = new int[MISC_COUNT];
+		values[a.ordinal()] = aValue;
+		values[b.ordinal()] = bValue;
+		return values;
+	}
+
+	// Writes payloads by hand, e.g. as a newer client would
+	private static class Payload extends ByteArrayOutputStream
+	{
+		void varint(final int v)
+		{
+			varlong(v & 0xFFFFFFFFL);
+		}
+
+		void signedVarint(final int v)
+		{
+			varint((v << 1) ^ (v >> 31));
+		}
+
+		void varlong(long v)
+		{
+			while ((v & ~0x7FL) != 0)
+			{
+				write((int) ((v & 0x7F) | 0x80));
+				v >>>= 7;
+			}
+			write((int) v);
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package thestonedturtle.partypanel.data.events;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ItemDeltaEncoderTest
+{
+	private static int[] inventory()
+	{
+		final int[] items = new int[56];
+		for (int slot = 0; slot < 28; slot++)
+		{
+			items[slot * 2] = 1000 + slot;
+			items[slot * 2 + 1] = 1;
+		}
+		return items;
+	}
+
+	@Test
+	public void firstContainerIsSentInFull()
+	{
+		final ItemDeltaEncoder encoder = new ItemDeltaEncoder();
+		assertNull(encoder.encode(inventory()));
+	}
+
+	@Test
+	public void changedSlotsAreSentAsDeltas()
+	{
+		final ItemDeltaEncoder encoder = new ItemDeltaEncoder();
+		final int[] items = inventory();
+		encoder.encode(items);
+
+		items[4] = 561;
+		items[5] = 250;
+		items[11] = 7;
+
+		final int[][] delta = encoder.encode(items);
+		assertNotNull(delta);
+		assertArrayEquals(new int[] {2, 561, 250}, delta[0]);
+		assertArrayEquals(new int[] {5, 7}, delta[1]);
+		assertTrue(encoder.isUnchanged(items));
+	}
+
+	@Test
+	public void unchangedContainerIsAnEmptyDelta()
+	{
+		final ItemDeltaEncoder encoder = new ItemDeltaEncoder();
+		encoder.encode(inventory());
+
+		final int[][] delta = encoder.encode(inventory());
+		assertNotNull(delta);
+		assertArrayEquals(new int[0], delta[0]);
+		assertArrayEquals(new int[0], delta[1]);
+	}
+
+	@Test
+	public void largeChangesAreSentInFull()
+	{
+		final ItemDeltaEncoder encoder = new ItemDeltaEncoder();
+		final int[] items = inventory();
+		encoder.encode(items);
+
+		for (int slot = 0; slot < 20; slot++)
+		{
+			items[slot * 2] = -1;
+			items[slot * 2 + 1] = 0;
+		}
+
+		assertNull(encoder.encode(items));
+		assertTrue(encoder.isUnchanged(items));
+	}
+
+	@Test
+	public void resizedContainerIsSentInFull()
+	{
+		final ItemDeltaEncoder encoder = new ItemDeltaEncoder();
+		encoder.encode(inventory());
+		assertNull(encoder.encode(new int[28]));
+	}
+
+	@Test
+	public void keyframeIsSentAfterTwentyDeltas()
+	{
+		final ItemDeltaEncoder encoder = new ItemDeltaEncoder();
+		final int[] items = inventory();
+		encoder.encode(items);
+
+		for (int i = 0; i < 20; i++)
+		{
+			items[1] = i + 2;
+			assertNotNull(encoder.encode(items));
+		}
+
+		items[1] = 100;
+		assertNull(encoder.encode(items));
+
+		items[1] = 101;
+		assertNotNull(encoder.encode(items));
+	}
+
+	@Test
+	public void emptyDeltasDontCountTowardsKeyframes()
+	{
+		final ItemDeltaEncoder encoder = new ItemDeltaEncoder();
+		final int[] items = inventory();
+		encoder.encode(items);
+
+		for (int i = 0; i < 50; i++)
+		{
+			assertNotNull(encoder.encode(items));
+		}
+	}
+
+	@Test
+	public void resetMarksContainerAsSent()
+	{
+		final ItemDeltaEncoder encoder = new ItemDeltaEncoder();
+		final int[] items = inventory();
+		assertFalse(encoder.isUnchanged(items));
+
+		encoder.reset(items);
+		assertTrue(encoder.isUnchanged(items));
+
+		// Later changes to the array don't change what was sent
+		items[0] = 1;
+		assertFalse(encoder.isUnchanged(items));
+
+		encoder.reset(null);
+		assertNull(encoder.encode(items));
+	}
+}
@@ -0,0 +1,72 @@
+package thestonedturtle.partypanel.data.events;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class MiscPolicyTest
+{
+	private static TransmittedState sent(final int runEnergy, final int tick)
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setMm(1 << PartyMiscChange.PartyMisc.R.ordinal());
+		c.setMv(new int[PartyMiscChange.PartyMisc.values().length]);
+		c.getMv()[PartyMiscChange.PartyMisc.R.ordinal()] = runEnergy;
+
+		final TransmittedState sent = new TransmittedState();
+		sent.record(c, tick);
+		return sent;
+	}
+
+	@Test
+	public void everyChangeIsSentByDefault()
+	{
+		assertTrue(new MiscPolicy().shouldSend(PartyMiscChange.PartyMisc.R, 99, sent(100, 0), 1));
+	}
+
+	@Test
+	public void smallChangesAreHeldBack()
+	{
+		final MiscPolicy policy = new MiscPolicy();
+		policy.set(PartyMiscChange.PartyMisc.R, 5, 10);
+
+		final TransmittedState sent = sent(100, 0);
+		assertFalse(policy.shouldSend(PartyMiscChange.PartyMisc.R, 96, sent, 1));
+		assertTrue(policy.shouldSend(PartyMiscChange.PartyMisc.R, 95, sent, 1));
+		assertTrue(policy.shouldSend(PartyMiscChange.PartyMisc.R, 105, sent, 1));
+	}
+
+	@Test
+	public void smallChangesAreSentOnceTheIntervalPasses()
+	{
+		final MiscPolicy policy = new MiscPolicy();
+		policy.set(PartyMiscChange.PartyMisc.R, 5, 10);
+
+		final TransmittedState sent = sent(100, 0);
+		assertFalse(policy.shouldSend(PartyMiscChange.PartyMisc.R, 99, sent, 9));
+		assertTrue(policy.shouldSend(PartyMiscChange.PartyMisc.R, 99, sent, 10));
+		// Unless nothing changed
+		assertFalse(policy.shouldSend(PartyMiscChange.PartyMisc.R, 100, sent, 10));
+	}
+
+	@Test
+	public void zeroAndUnsentValuesAreAlwaysSent()
+	{
+		final MiscPolicy policy = new MiscPolicy();
+		policy.set(PartyMiscChange.PartyMisc.R, 5, 10);
+		policy.set(PartyMiscChange.PartyMisc.S, 5, 10);
+
+		final TransmittedState sent = sent(2, 0);
+		assertTrue(policy.shouldSend(PartyMiscChange.PartyMisc.R, 0, sent, 1));
+		assertTrue(policy.shouldSend(PartyMiscChange.PartyMisc.S, 99, sent, 1));
+	}
+
+	@Test
+	public void policiesArePerType()
+	{
+		final MiscPolicy policy = new MiscPolicy();
+		policy.set(PartyMiscChange.PartyMisc.S, 5, 10);
+
+		assertTrue(policy.shouldSend(PartyMiscChange.PartyMisc.R, 99, sent(100, 0), 1));
+	}
+}
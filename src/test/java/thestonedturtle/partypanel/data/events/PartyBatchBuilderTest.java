@@ -0,0 +1,183 @@
+package thestonedturtle.partypanel.data.events;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import net.runelite.api.Skill;
+import net.runelite.client.party.PartyMember;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Test;
+import thestonedturtle.partypanel.data.Prayers;
+import thestonedturtle.partypanel.data.StateDigest;
+
+public class PartyBatchBuilderTest
+{
+	private static final int ATTACK = Skill.ATTACK.ordinal();
+	private static final int PRAYER = Skill.PRAYER.ordinal();
+	private static final long LOCAL = 7_000_000_000L;
+
+	@Test
+	public void latestChangeOfEachTypeIsKept()
+	{
+		final PartyBatchBuilder b = new PartyBatchBuilder();
+		b.addStat(ATTACK, 50, 50);
+		b.addStat(ATTACK, 51, 55);
+		b.addMisc(PartyMiscChange.PartyMisc.R, 100);
+		b.addMisc(PartyMiscChange.PartyMisc.R, 98);
+		b.setUsername("Zezima");
+
+		final PartyBatchedChange c = b.build();
+		assertEquals(1L << ATTACK, c.getSm());
+		assertEquals(51, c.getSl()[ATTACK]);
+		assertEquals(55, c.getSb()[ATTACK]);
+		assertEquals(1 << PartyMiscChange.PartyMisc.R.ordinal() | 1 << PartyMiscChange.PartyMisc.U.ordinal(), c.getMm());
+		assertEquals(98, c.getMv()[PartyMiscChange.PartyMisc.R.ordinal()]);
+		assertEquals("Zezima", c.getMu());
+		assertNull(c.getAp());
+	}
+
+	@Test
+	public void builtBatchesAreUnaffectedByReuse()
+	{
+		final PartyBatchBuilder b = new PartyBatchBuilder();
+		b.addStat(ATTACK, 50, 50);
+		b.addMisc(PartyMiscChange.PartyMisc.S, 100);
+		final PartyBatchedChange c = b.build();
+
+		b.reset();
+		assertTrue(b.isEmpty());
+		b.addStat(ATTACK, 99, 99);
+		b.addMisc(PartyMiscChange.PartyMisc.S, 0);
+
+		assertEquals(50, c.getSl()[ATTACK]);
+		assertEquals(100, c.getMv()[PartyMiscChange.PartyMisc.S.ordinal()]);
+	}
+
+	@Test
+	public void addAllReplacesMatchingChanges()
+	{
+		final PartyBatchBuilder current = new PartyBatchBuilder();
+		current.setI(new int[] {995, 10});
+		current.addStat(ATTACK, 50, 50);
+		current.addStat(PRAYER, 70, 70);
+
+		final PartyBatchBuilder urgent = new PartyBatchBuilder();
+		urgent.addStat(PRAYER, 70, 12);
+		urgent.setPrayers(1, 2, 3);
+
+		current.addAll(urgent);
+		final PartyBatchedChange c = current.build();
+		assertArrayEquals(new int[] {995, 10}, c.getI());
+		assertEquals(50, c.getSb()[ATTACK]);
+		assertEquals(12, c.getSb()[PRAYER]);
+		assertEquals(Integer.valueOf(1), c.getAp());
+		assertEquals(Integer.valueOf(2), c.getEp());
+		assertEquals(Integer.valueOf(3), c.getUp());
+	}
+
+	@Test
+	public void removeReportsWhetherAnythingWasPending()
+	{
+		final PartyBatchBuilder b = new PartyBatchBuilder();
+		assertFalse(b.removeInventory());
+		assertFalse(b.removeStats(0));
+
+		b.setRp(new int[] {1, 2});
+		b.addStat(ATTACK, 50, 50);
+		b.addStat(PRAYER, 70, 70);
+		assertTrue(b.removeInventory());
+		assertFalse(b.removeStats(1L << ATTACK | 1L << PRAYER));
+		assertTrue(b.removeStats(1L << PRAYER));
+		assertEquals(1L << PRAYER, b.build().getSm());
+		assertNull(b.build().getRp());
+	}
+
+	@Test
+	public void versionChangesWithEveryChange()
+	{
+		final PartyBatchBuilder b = new PartyBatchBuilder();
+		final int version = b.getVersion();
+		b.addMisc(PartyMiscChange.PartyMisc.W, 302);
+		assertNotEquals(version, b.getVersion());
+
+		// Removing nothing doesn't invalidate anything built from the builder
+		final int changed = b.getVersion();
+		assertFalse(b.removeInventory());
+		assertFalse(b.removeEquipment());
+		assertFalse(b.removeStats(0));
+		assertFalse(b.removePrayers());
+		assertFalse(b.removeMisc(PartyMiscChange.PartyMisc.R));
+		assertEquals(changed, b.getVersion());
+
+		final int size = b.estimateSize();
+		b.setE(new int[28]);
+		assertTrue(b.estimateSize() > size);
+	}
+
+	@Test
+	public void senderTickWorkDoesntAllocate()
+	{
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported());
+		threads.setThreadAllocatedMemoryEnabled(true);
+
+		final ChangeLanes lanes = new ChangeLanes();
+		final TransmittedState transmitted = new TransmittedState();
+		final MiscPolicy policy = new MiscPolicy();
+		policy.set(PartyMiscChange.PartyMisc.R, 5, 10);
+		final TokenBucket bucket = new TokenBucket();
+		final ActivityTracker activity = new ActivityTracker();
+		final Prayers prayers = new Prayers();
+		final ViewerInterest interest = new ViewerInterest();
+		// Member ids are random, so aren't in the boxing cache
+		final List<PartyMember> members = Arrays.asList(new PartyMember(LOCAL), new PartyMember(LOCAL + 1), new PartyMember(LOCAL + 2));
+		interest.update(new PartyInterest(LOCAL + 1, new long[] {LOCAL}, new int[] {1 << StateDigest.INVENTORY}), LOCAL);
+
+		// Warm up so class loading and lazy initialization aren't measured
+		tick(lanes, transmitted, policy, bucket, activity, prayers, interest, members, 0, 20_000);
+
+		final long thread = Thread.currentThread().getId();
+		final long overhead = -threads.getThreadAllocatedBytes(thread) + threads.getThreadAllocatedBytes(thread);
+		final long before = threads.getThreadAllocatedBytes(thread);
+		tick(lanes, transmitted, policy, bucket, activity, prayers, interest, members, 20_000, 10_000);
+		final long allocated = threads.getThreadAllocatedBytes(thread) - before - overhead;
+
+		// Allow for the odd allocation by the measurement itself, but nothing per tick
+		assertTrue("allocated " + allocated + " bytes", allocated < 1024);
+	}
+
+	// The sender's per-tick queueing & lane bookkeeping when nothing needs sending. The rest of the plugin's game tick,
+	// such as reading the client and config, needs a running client so isn't covered
+	private static void tick(final ChangeLanes lanes, final TransmittedState transmitted, final MiscPolicy policy,
+		final TokenBucket bucket, final ActivityTracker activity, final Prayers prayers, final ViewerInterest interest,
+		final List<PartyMember> members, final int from, final int ticks)
+	{
+		for (int tick = from; tick < from + ticks; tick++)
+		{
+			final int energy = 100 - (tick % 100);
+			if (policy.shouldSend(PartyMiscChange.PartyMisc.R, energy, transmitted, tick))
+			{
+				lanes.addMisc(PartyMiscChange.PartyMisc.R, energy);
+			}
+			lanes.addStat(Skill.PRAYER, 70, tick % 70);
+			lanes.getBulk().setPrayers(prayers.getAvailableMask(), prayers.getEnabledMask(), prayers.getUnlockedMask());
+			lanes.removeSections(interest.getSections(members, LOCAL), 1L << PRAYER);
+
+			activity.update(tick);
+			bucket.refill(50, 500);
+			final boolean sendBulk = !lanes.getBulk().isEmpty() && bucket.tryConsume(lanes.getBulk().estimateSize());
+			if (!sendBulk)
+			{
+				lanes.hold();
+			}
+			lanes.reset();
+		}
+	}
+}
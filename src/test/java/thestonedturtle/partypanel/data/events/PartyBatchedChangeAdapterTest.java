@@ -0,0 +1,110 @@
+package thestonedturtle.partypanel.data.events;
+
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.Collections;
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class PartyBatchedChangeAdapterTest
+{
+	private static final int PRAYER = Skill.PRAYER.ordinal();
+	private static final int RUN = PartyMiscChange.PartyMisc.R.ordinal();
+
+	private final Gson gson = new Gson();
+
+	@Test
+	public void roundTripsColumnsAsReflectiveJson()
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setI(new int[] {995, 1000, -1, 0});
+		c.setDe(new int[] {3, 4151, 1});
+		c.setSm(1L << PRAYER);
+		c.setSl(new int[Skill.values().length]);
+		c.setSb(new int[Skill.values().length]);
+		c.getSl()[PRAYER] = 70;
+		c.getSb()[PRAYER] = 52;
+		c.setMm((1 << RUN) | (1 << PartyMiscChange.PartyMisc.U.ordinal()));
+		c.setMv(new int[PartyMiscChange.PartyMisc.values().length]);
+		c.getMv()[RUN] = 88;
+		c.setMu("Woox");
+		c.setEp(4);
+		c.setSq(7);
+		c.setTk(1000);
+		c.setMemberId(42);
+		c.removeDefaults();
+
+		final String json = gson.toJson(c);
+		assertTrue(json.contains("\"s\":[{\"s\":" + PRAYER + ",\"l\":70,\"b\":52}]"));
+		assertTrue(json.contains("{\"t\":\"R\",\"v\":88}"));
+		assertTrue(json.contains("{\"t\":\"U\",\"s\":\"Woox\"}"));
+		assertFalse(json.contains("\"ap\""));
+
+		final PartyBatchedChange d = gson.fromJson(json, PartyBatchedChange.class);
+		assertArrayEquals(c.getI(), d.getI());
+		assertArrayEquals(c.getDe(), d.getDe());
+		assertNull(d.getE());
+		assertEquals(1L << PRAYER, d.getSm());
+		assertEquals(70, d.getSl()[PRAYER]);
+		assertEquals(52, d.getSb()[PRAYER]);
+		assertEquals(c.getMm(), d.getMm());
+		assertEquals(88, d.getMv()[RUN]);
+		assertEquals("Woox", d.getMu());
+		assertNull(d.getAp());
+		assertEquals(Integer.valueOf(4), d.getEp());
+		assertEquals(7, d.getSq());
+		assertEquals(1000, d.getTk());
+		assertEquals(42, d.getMemberId());
+	}
+
+	@Test
+	public void readsListsFromOlderMembers()
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setS(new ArrayList<>(Collections.singletonList(new PartyStatChange(PRAYER, 60, 61))));
+		c.setM(new ArrayList<>(Collections.singletonList(new PartyMiscChange(PartyMiscChange.PartyMisc.W, 330))));
+
+		final PartyBatchedChange d = gson.fromJson(gson.toJson(c), PartyBatchedChange.class);
+		assertNull(d.getS());
+		assertNull(d.getM());
+		assertEquals(61, d.getSb()[PRAYER]);
+		assertEquals(330, d.getMv()[PartyMiscChange.PartyMisc.W.ordinal()]);
+	}
+
+	@Test
+	public void skipsUnknownSkillsMiscTypesAndFields()
+	{
+		final String json = "{\"s\":[{\"s\":200,\"l\":1,\"b\":1},{\"s\":" + PRAYER + ",\"l\":45,\"b\":40}],"
+				+ "\"m\":[{\"t\":\"XP\",\"v\":5},{\"t\":\"R\",\"v\":12}],"
+				+ "\"new\":{\"nested\":[1,2]},\"i\":[],\"ap\":null,\"memberId\":9}";
+
+		final PartyBatchedChange d = gson.fromJson(json, PartyBatchedChange.class);
+		assertEquals(1L << PRAYER, d.getSm());
+		assertEquals(40, d.getSb()[PRAYER]);
+		assertEquals(1 << RUN, d.getMm());
+		assertEquals(12, d.getMv()[RUN]);
+		assertArrayEquals(new int[0], d.getI());
+		assertNull(d.getAp());
+		assertEquals(9, d.getMemberId());
+	}
+
+	@Test
+	public void readsLargeArrays()
+	{
+		final int[] items = new int[200];
+		for (int idx = 0; idx < items.length; idx++)
+		{
+			items[idx] = idx;
+		}
+
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setI(items);
+
+		assertArrayEquals(items, gson.fromJson(gson.toJson(c), PartyBatchedChange.class).getI());
+	}
+}
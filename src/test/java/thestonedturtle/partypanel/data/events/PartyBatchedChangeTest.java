@@ -0,0 +1,235 @@
+package thestonedturtle.partypanel.data.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import net.runelite.api.EquipmentInventorySlot;
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import thestonedturtle.partypanel.data.DeadReckoning;
+import thestonedturtle.partypanel.data.GameItem;
+import thestonedturtle.partypanel.data.PartyPlayer;
+
+public class PartyBatchedChangeTest
+{
+	private static final int SKILL_COUNT = Skill.values().length;
+	private static final int MISC_COUNT = PartyMiscChange.PartyMisc.values().length;
+
+	@Test
+	public void laterFullContainerReplacesEarlierDeltas()
+	{
+		final PartyBatchedChange earlier = new PartyBatchedChange();
+		earlier.setDi(new int[] {0, 995, 10});
+		earlier.setQi(new int[] {1, 5});
+
+		final PartyBatchedChange later = new PartyBatchedChange();
+		later.setI(new int[] {4151, 1});
+
+		earlier.merge(later);
+		assertArrayEquals(new int[] {4151, 1}, earlier.getI());
+		assertNull(earlier.getDi());
+		assertNull(earlier.getQi());
+	}
+
+	@Test
+	public void deltasAreAppendedAfterEarlierChanges()
+	{
+		final PartyBatchedChange earlier = new PartyBatchedChange();
+		earlier.setI(new int[] {995, 10, -1, 0});
+		earlier.setDe(new int[] {3, 4151, 1});
+
+		final PartyBatchedChange later = new PartyBatchedChange();
+		later.setDi(new int[] {1, 385, 1});
+		later.setDe(new int[] {3, -1, 0});
+
+		earlier.merge(later);
+		assertArrayEquals(new int[] {995, 10, -1, 0}, earlier.getI());
+		assertArrayEquals(new int[] {1, 385, 1}, earlier.getDi());
+		assertArrayEquals(new int[] {3, 4151, 1, 3, -1, 0}, earlier.getDe());
+	}
+
+	@Test
+	public void quantityChangesToReplacedSlotsAreDropped()
+	{
+		final PartyBatchedChange earlier = new PartyBatchedChange();
+		earlier.setQi(new int[] {2, 50, 4, 7});
+
+		final PartyBatchedChange later = new PartyBatchedChange();
+		later.setDi(new int[] {2, 561, 100});
+		later.setQi(new int[] {6, 3});
+
+		earlier.merge(later);
+		assertArrayEquals(new int[] {2, 561, 100}, earlier.getDi());
+		assertArrayEquals(new int[] {4, 7, 6, 3}, earlier.getQi());
+	}
+
+	@Test
+	public void laterStatAndMiscValuesWin()
+	{
+		final PartyBatchedChange earlier = new PartyBatchedChange();
+		earlier.setSm((1L << Skill.PRAYER.ordinal()) | (1L << Skill.ATTACK.ordinal()));
+		earlier.setSl(new int[SKILL_COUNT]);
+		earlier.setSb(new int[SKILL_COUNT]);
+		earlier.getSl()[Skill.ATTACK.ordinal()] = 60;
+		earlier.getSb()[Skill.ATTACK.ordinal()] = 60;
+		earlier.getSb()[Skill.PRAYER.ordinal()] = 40;
+		earlier.setMm(1 << PartyMiscChange.PartyMisc.R.ordinal());
+		earlier.setMv(new int[MISC_COUNT]);
+		earlier.getMv()[PartyMiscChange.PartyMisc.R.ordinal()] = 90;
+
+		final PartyBatchedChange later = new PartyBatchedChange();
+		later.setSm(1L << Skill.PRAYER.ordinal());
+		later.setSl(new int[SKILL_COUNT]);
+		later.setSb(new int[SKILL_COUNT]);
+		later.getSb()[Skill.PRAYER.ordinal()] = 38;
+		later.setMm((1 << PartyMiscChange.PartyMisc.S.ordinal()) | (1 << PartyMiscChange.PartyMisc.U.ordinal()));
+		later.setMv(new int[MISC_COUNT]);
+		later.getMv()[PartyMiscChange.PartyMisc.S.ordinal()] = 50;
+		later.setMu("Woox");
+
+		earlier.merge(later);
+		assertEquals((1L << Skill.PRAYER.ordinal()) | (1L << Skill.ATTACK.ordinal()), earlier.getSm());
+		assertEquals(60, earlier.getSb()[Skill.ATTACK.ordinal()]);
+		assertEquals(38, earlier.getSb()[Skill.PRAYER.ordinal()]);
+		assertEquals(90, earlier.getMv()[PartyMiscChange.PartyMisc.R.ordinal()]);
+		assertEquals(50, earlier.getMv()[PartyMiscChange.PartyMisc.S.ordinal()]);
+		assertEquals("Woox", earlier.getMu());
+	}
+
+	@Test
+	public void columnsAreCreatedWhenOnlyTheLaterBatchHasThem()
+	{
+		final PartyBatchedChange earlier = new PartyBatchedChange();
+
+		final PartyBatchedChange later = new PartyBatchedChange();
+		later.setMm(1 << PartyMiscChange.PartyMisc.W.ordinal());
+		later.setMv(new int[MISC_COUNT]);
+		later.getMv()[PartyMiscChange.PartyMisc.W.ordinal()] = 420;
+
+		earlier.merge(later);
+		assertEquals(420, earlier.getMv()[PartyMiscChange.PartyMisc.W.ordinal()]);
+		assertEquals(0, earlier.getSm());
+	}
+
+	@Test
+	public void listsAreAppended()
+	{
+		final PartyBatchedChange earlier = new PartyBatchedChange();
+		earlier.setS(null);
+
+		final PartyBatchedChange later = new PartyBatchedChange();
+		later.setS(new ArrayList<>(Collections.singletonList(new PartyStatChange(0, 1, 1))));
+		later.setM(new ArrayList<>(Collections.singletonList(new PartyMiscChange(PartyMiscChange.PartyMisc.W, 301))));
+
+		earlier.merge(later);
+		assertEquals(1, earlier.getS().size());
+		assertEquals(1, earlier.getM().size());
+	}
+
+	@Test
+	public void prayersAndSequenceComeFromTheLaterBatch()
+	{
+		final PartyBatchedChange earlier = new PartyBatchedChange();
+		earlier.setAp(7);
+		earlier.setEp(1);
+		earlier.setUp(0);
+		earlier.setRp(new int[] {1});
+		earlier.setSq(4);
+		earlier.setTk(100);
+
+		final PartyBatchedChange later = new PartyBatchedChange();
+		later.setEp(2);
+		later.setSq(5);
+		later.setTk(101);
+
+		earlier.merge(later);
+		// Prayer masks are always sent together
+		assertNull(earlier.getAp());
+		assertEquals(Integer.valueOf(2), earlier.getEp());
+		assertArrayEquals(new int[] {1}, earlier.getRp());
+		assertEquals(5, earlier.getSq());
+		assertEquals(101, earlier.getTk());
+	}
+
+	@Test
+	public void predictionsAreSampledAtTheBatchTick()
+	{
+		final DeadReckoning run = new DeadReckoning(DeadReckoning.RUN_ENERGY_MAX_RATE);
+		final DeadReckoning prayer = new DeadReckoning(DeadReckoning.PRAYER_MAX_RATE);
+
+		final PartyBatchedChange first = new PartyBatchedChange();
+		first.setMm(1 << PartyMiscChange.PartyMisc.R.ordinal());
+		first.setMv(new int[MISC_COUNT]);
+		first.getMv()[PartyMiscChange.PartyMisc.R.ordinal()] = 50;
+		first.setTk(100);
+		first.samplePredictions(run, prayer);
+		assertTrue(run.isSampled());
+		assertFalse(prayer.isSampled());
+
+		final PartyBatchedChange second = new PartyBatchedChange();
+		second.setMm(1 << PartyMiscChange.PartyMisc.R.ordinal());
+		second.setMv(new int[MISC_COUNT]);
+		second.getMv()[PartyMiscChange.PartyMisc.R.ordinal()] = 55;
+		second.setSm(1L << Skill.PRAYER.ordinal());
+		second.setSl(new int[SKILL_COUNT]);
+		second.setSb(new int[SKILL_COUNT]);
+		second.getSb()[Skill.PRAYER.ordinal()] = 43;
+		second.setTk(105);
+		second.samplePredictions(run, prayer);
+
+		assertEquals(60, run.predict(110, 100));
+		assertEquals(43, prayer.predict(110, 99));
+	}
+
+	@Test
+	public void malformedDeltasAreIgnored()
+	{
+		final PartyPlayer player = new PartyPlayer(null);
+		player.getInventory()[0] = new GameItem(995, 10, "Coins", true, 1);
+		player.getEquipment()[EquipmentInventorySlot.AMMO.getSlotIdx()] = new GameItem(892, 50, "Rune arrow", true, 100);
+
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setDi(new int[] {-1, 995, 10, 28, 995, 10, Integer.MAX_VALUE, 995, 10});
+		c.setQi(new int[] {-1, 5, 28, 5, Integer.MAX_VALUE, 5, 0, 20});
+		c.setDe(new int[] {-1, 4151, 1, EquipmentInventorySlot.AMMO.getSlotIdx() + 1, 4151, 1, Integer.MAX_VALUE, 4151, 1});
+		c.setQe(new int[] {-1, 5, Integer.MAX_VALUE, 5, EquipmentInventorySlot.AMMO.getSlotIdx(), 40});
+		// Items are only resolved for valid slots
+		c.process(player, null);
+
+		assertEquals(28, player.getInventory().length);
+		assertEquals(20, player.getInventory()[0].getQty());
+		assertEquals(EquipmentInventorySlot.AMMO.getSlotIdx() + 1, player.getEquipment().length);
+		assertEquals(40, player.getEquipment()[EquipmentInventorySlot.AMMO.getSlotIdx()].getQty());
+	}
+
+	@Test
+	public void statAndMiscColumnsAreCompared()
+	{
+		final PartyBatchedChange a = new PartyBatchedChange();
+		a.setSm(1L << Skill.ATTACK.ordinal());
+		a.setSl(new int[SKILL_COUNT]);
+		a.setSb(new int[SKILL_COUNT]);
+		a.getSl()[Skill.ATTACK.ordinal()] = 50;
+
+		final PartyBatchedChange b = new PartyBatchedChange();
+		b.setSm(1L << Skill.ATTACK.ordinal());
+		b.setSl(new int[SKILL_COUNT]);
+		b.setSb(new int[SKILL_COUNT]);
+		b.getSl()[Skill.ATTACK.ordinal()] = 50;
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+
+		b.getSl()[Skill.ATTACK.ordinal()] = 51;
+		assertNotEquals(a, b);
+
+		b.getSl()[Skill.ATTACK.ordinal()] = 50;
+		b.setMm(1 << PartyMiscChange.PartyMisc.W.ordinal());
+		b.setMv(new int[MISC_COUNT]);
+		assertNotEquals(a, b);
+	}
+}
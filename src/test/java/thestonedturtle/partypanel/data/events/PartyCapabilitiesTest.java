@@ -0,0 +1,36 @@
+package thestonedturtle.partypanel.data.events;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class PartyCapabilitiesTest
+{
+	@Test
+	public void announcesEverySupportedFeature()
+	{
+		final PartyCapabilities c = new PartyCapabilities(5);
+		assertEquals(5, c.getMemberId());
+		assertEquals(PartyCapabilities.PROTOCOL_VERSION, c.getV());
+		assertEquals(PartyCapabilities.SUPPORTED, c.getUsableFeatures());
+	}
+
+	@Test
+	public void unknownFeaturesAreIgnored()
+	{
+		final PartyCapabilities c = new PartyCapabilities(5);
+		c.setF(PartyCapabilities.COMPACT | (1 << 30));
+		assertEquals(PartyCapabilities.COMPACT, c.getUsableFeatures());
+	}
+
+	@Test
+	public void otherProtocolVersionsFallBackToJson()
+	{
+		final PartyCapabilities c = new PartyCapabilities(5);
+		c.setV(PartyCapabilities.PROTOCOL_VERSION + 1);
+		assertEquals(0, c.getUsableFeatures());
+
+		// Announcements missing a version
+		c.setV(0);
+		assertEquals(0, c.getUsableFeatures());
+	}
+}
@@ -0,0 +1,31 @@
+package thestonedturtle.partypanel.data.events;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class PartyInterestTest
+{
+	@Test
+	public void listedMembersReturnTheirSections()
+	{
+		final PartyInterest interest = new PartyInterest(1, new long[] {2, 3}, new int[] {5, 0});
+		assertEquals(1, interest.getMemberId());
+		assertEquals(5, interest.getSections(2));
+		assertEquals(0, interest.getSections(3));
+	}
+
+	@Test
+	public void unlistedMembersAreNotDisplayed()
+	{
+		assertEquals(0, new PartyInterest(1, new long[] {2}, new int[] {5}).getSections(4));
+		assertEquals(0, new PartyInterest().getSections(2));
+	}
+
+	@Test
+	public void mismatchedArraysAreIgnored()
+	{
+		final PartyInterest interest = new PartyInterest(1, new long[] {2, 3}, new int[] {5});
+		assertEquals(5, interest.getSections(2));
+		assertEquals(0, interest.getSections(3));
+	}
+}
@@ -0,0 +1,93 @@
+package thestonedturtle.partypanel.data.events;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class TokenBucketTest
+{
+	@Test
+	public void tokensAccumulateUpToTheCapacity()
+	{
+		final TokenBucket bucket = new TokenBucket();
+		assertFalse(bucket.tryConsume(1));
+
+		for (int tick = 0; tick < 10; tick++)
+		{
+			bucket.refill(100, 300);
+		}
+
+		assertTrue(bucket.tryConsume(300));
+		assertFalse(bucket.tryConsume(1));
+	}
+
+	@Test
+	public void failedConsumesDontSpendTokens()
+	{
+		final TokenBucket bucket = new TokenBucket();
+		bucket.refill(100, 300);
+		assertFalse(bucket.tryConsume(150));
+		assertTrue(bucket.tryConsume(100));
+	}
+
+	@Test
+	public void debtIsRepaidBeforeSendingAgain()
+	{
+		final TokenBucket bucket = new TokenBucket();
+		bucket.refill(100, 300);
+		assertTrue(bucket.consumeWithDebt(400));
+
+		// 300 in debt
+		bucket.refill(100, 300);
+		bucket.refill(100, 300);
+		bucket.refill(100, 300);
+		assertFalse(bucket.tryConsume(1));
+		bucket.refill(100, 300);
+		assertTrue(bucket.tryConsume(100));
+	}
+
+	@Test
+	public void debtIsLimitedToTheCapacity()
+	{
+		final TokenBucket bucket = new TokenBucket();
+		bucket.refill(0, 300);
+		assertTrue(bucket.consumeWithDebt(250));
+		assertTrue(bucket.consumeWithDebt(250));
+		assertFalse(bucket.consumeWithDebt(1));
+	}
+
+	@Test
+	public void consumeAlwaysSpends()
+	{
+		final TokenBucket bucket = new TokenBucket();
+		bucket.refill(100, 300);
+		bucket.consume(1000);
+		bucket.refill(100, 300);
+		assertFalse(bucket.tryConsume(1));
+
+		bucket.reset();
+		bucket.refill(100, 300);
+		assertTrue(bucket.tryConsume(100));
+	}
+
+	@Test
+	public void batchesLargerThanTheCapacityAreSentOnceFull()
+	{
+		final TokenBucket bucket = new TokenBucket();
+		bucket.refill(100, 300);
+		assertFalse(bucket.tryConsume(1000));
+		bucket.refill(100, 300);
+		assertFalse(bucket.tryConsume(1000));
+		bucket.refill(100, 300);
+		assertTrue(bucket.tryConsume(1000));
+
+		// The difference is repaid before anything else can be sent
+		for (int tick = 0; tick < 7; tick++)
+		{
+			bucket.refill(100, 300);
+		}
+		assertFalse(bucket.tryConsume(1));
+		bucket.refill(100, 300);
+		assertTrue(bucket.tryConsume(100));
+	}
+}
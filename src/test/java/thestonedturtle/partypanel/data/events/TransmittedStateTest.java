@@ -0,0 +1,149 @@
+package thestonedturtle.partypanel.data.events;
+
+import net.runelite.api.Skill;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class TransmittedStateTest
+{
+	private static final int SKILL_COUNT = Skill.values().length;
+	private static final int MISC_COUNT = PartyMiscChange.PartyMisc.values().length;
+	private static final int ATTACK = Skill.ATTACK.ordinal();
+	private static final int PRAYER = Skill.PRAYER.ordinal();
+	private static final int RUN = PartyMiscChange.PartyMisc.R.ordinal();
+	private static final int WORLD = PartyMiscChange.PartyMisc.W.ordinal();
+
+	private static PartyBatchedChange batch()
+	{
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setSm(1L << ATTACK | 1L << PRAYER);
+		c.setSl(new int[SKILL_COUNT]);
+		c.setSb(new int[SKILL_COUNT]);
+		c.getSl()[ATTACK] = 99;
+		c.getSb()[ATTACK] = 118;
+		c.getSl()[PRAYER] = 70;
+		c.getSb()[PRAYER] = 70;
+
+		c.setMm(1 << RUN | 1 << WORLD);
+		c.setMv(new int[MISC_COUNT]);
+		c.getMv()[RUN] = 100;
+		c.getMv()[WORLD] = 302;
+
+		c.setAp(1);
+		c.setEp(2);
+		c.setUp(3);
+		c.setRp(new int[] {554, 100});
+		c.setQ(new int[] {892, 50});
+		return c;
+	}
+
+	@Test
+	public void nothingIsRemovedBeforeItIsSent()
+	{
+		final PartyBatchedChange c = batch();
+		new TransmittedState().removeUnchanged(c);
+		assertEquals(1L << ATTACK | 1L << PRAYER, c.getSm());
+		assertEquals(1 << RUN | 1 << WORLD, c.getMm());
+		assertEquals(Integer.valueOf(1), c.getAp());
+		assertArrayEquals(new int[] {554, 100}, c.getRp());
+	}
+
+	@Test
+	public void resendingTheSameValuesRemovesThem()
+	{
+		final TransmittedState sent = new TransmittedState();
+		sent.record(batch(), 10);
+
+		final PartyBatchedChange c = batch();
+		sent.removeUnchanged(c);
+		assertEquals(0, c.getSm());
+		assertEquals(0, c.getMm());
+		assertNull(c.getAp());
+		assertNull(c.getEp());
+		assertNull(c.getUp());
+		assertNull(c.getRp());
+		assertNull(c.getQ());
+	}
+
+	@Test
+	public void changedValuesAreKept()
+	{
+		final TransmittedState sent = new TransmittedState();
+		sent.record(batch(), 10);
+
+		final PartyBatchedChange c = batch();
+		c.getSb()[PRAYER] = 69;
+		c.getMv()[WORLD] = 330;
+		c.setEp(0);
+		c.setQ(new int[] {892, 49});
+		sent.removeUnchanged(c);
+
+		assertEquals(1L << PRAYER, c.getSm());
+		assertEquals(1 << WORLD, c.getMm());
+		// Prayers are only ever sent together
+		assertEquals(Integer.valueOf(1), c.getAp());
+		assertEquals(Integer.valueOf(0), c.getEp());
+		assertNull(c.getRp());
+		assertArrayEquals(new int[] {892, 49}, c.getQ());
+	}
+
+	@Test
+	public void miscValuesRememberWhenTheyWereSent()
+	{
+		final TransmittedState sent = new TransmittedState();
+		assertFalse(sent.hasMisc(PartyMiscChange.PartyMisc.R));
+
+		sent.record(batch(), 10);
+		assertTrue(sent.hasMisc(PartyMiscChange.PartyMisc.R));
+		assertEquals(100, sent.getMiscValue(PartyMiscChange.PartyMisc.R));
+		assertEquals(10, sent.getMiscTick(PartyMiscChange.PartyMisc.R));
+	}
+
+	@Test
+	public void usernamesAreNeverRemoved()
+	{
+		final TransmittedState sent = new TransmittedState();
+		final PartyBatchedChange c = new PartyBatchedChange();
+		c.setMm(1 << PartyMiscChange.PartyMisc.U.ordinal());
+		c.setMv(new int[MISC_COUNT]);
+		c.setMu("Zezima");
+		sent.record(c, 10);
+		sent.removeUnchanged(c);
+
+		assertEquals(1 << PartyMiscChange.PartyMisc.U.ordinal(), c.getMm());
+		assertFalse(sent.hasMisc(PartyMiscChange.PartyMisc.U));
+	}
+
+	@Test
+	public void forgottenValuesAreResent()
+	{
+		final TransmittedState sent = new TransmittedState();
+		sent.record(batch(), 10);
+		sent.forgetStat(Skill.PRAYER);
+		sent.forgetMisc(PartyMiscChange.PartyMisc.R);
+
+		final PartyBatchedChange c = batch();
+		sent.removeUnchanged(c);
+		assertEquals(1L << PRAYER, c.getSm());
+		assertEquals(1 << RUN, c.getMm());
+	}
+
+	@Test
+	public void resetForgetsEverything()
+	{
+		final TransmittedState sent = new TransmittedState();
+		sent.record(batch(), 10);
+		sent.reset();
+
+		final PartyBatchedChange c = batch();
+		sent.removeUnchanged(c);
+		assertEquals(1L << ATTACK | 1L << PRAYER, c.getSm());
+		assertEquals(1 << RUN | 1 << WORLD, c.getMm());
+		assertEquals(Integer.valueOf(1), c.getAp());
+		assertArrayEquals(new int[] {892, 50}, c.getQ());
+	}
+}
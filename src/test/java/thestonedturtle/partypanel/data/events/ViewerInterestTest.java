@@ -0,0 +1,67 @@
+package thestonedturtle.partypanel.data.events;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.runelite.client.party.PartyMember;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+import thestonedturtle.partypanel.data.StateDigest;
+
+public class ViewerInterestTest
+{
+	private static final long LOCAL = 1;
+	private static final int BANNER = StateDigest.ALL_SECTIONS & ~ViewerInterest.INTEREST_SECTIONS;
+	private static final int INVENTORY = 1 << StateDigest.INVENTORY;
+	private static final int PRAYERS = 1 << StateDigest.PRAYERS;
+
+	private static final List<PartyMember> MEMBERS = Arrays.asList(new PartyMember(LOCAL), new PartyMember(2), new PartyMember(3));
+
+	@Test
+	public void membersWhoHaventAnnouncedSeeEverything()
+	{
+		final ViewerInterest interest = new ViewerInterest();
+		assertEquals(StateDigest.ALL_SECTIONS, interest.getSections(MEMBERS, LOCAL));
+
+		interest.update(new PartyInterest(2, new long[] {LOCAL}, new int[] {INVENTORY}), LOCAL);
+		assertEquals(StateDigest.ALL_SECTIONS, interest.getSections(MEMBERS, LOCAL));
+	}
+
+	@Test
+	public void onlyDisplayedSectionsAreSent()
+	{
+		final ViewerInterest interest = new ViewerInterest();
+		interest.update(new PartyInterest(2, new long[] {LOCAL}, new int[] {INVENTORY}), LOCAL);
+		interest.update(new PartyInterest(3, new long[] {2, LOCAL}, new int[] {StateDigest.ALL_SECTIONS, PRAYERS}), LOCAL);
+		assertEquals(BANNER | INVENTORY | PRAYERS, interest.getSections(MEMBERS, LOCAL));
+
+		// Nobody displaying the local player still leaves what the banner needs
+		interest.update(new PartyInterest(2, new long[0], new int[0]), LOCAL);
+		interest.update(new PartyInterest(3, new long[] {2}, new int[] {StateDigest.ALL_SECTIONS}), LOCAL);
+		assertEquals(BANNER, interest.getSections(MEMBERS, LOCAL));
+	}
+
+	@Test
+	public void theLocalPlayersOwnInterestIsIgnored()
+	{
+		final ViewerInterest interest = new ViewerInterest();
+		interest.update(new PartyInterest(2, new long[0], new int[0]), LOCAL);
+		interest.update(new PartyInterest(3, new long[0], new int[0]), LOCAL);
+		assertEquals(BANNER, interest.getSections(MEMBERS, LOCAL));
+		assertEquals(BANNER, interest.getSections(Collections.singletonList(new PartyMember(LOCAL)), LOCAL));
+	}
+
+	@Test
+	public void leavingMembersAreForgotten()
+	{
+		final ViewerInterest interest = new ViewerInterest();
+		interest.update(new PartyInterest(2, new long[0], new int[0]), LOCAL);
+		interest.update(new PartyInterest(3, new long[0], new int[0]), LOCAL);
+		interest.remove(3);
+		assertEquals(StateDigest.ALL_SECTIONS, interest.getSections(MEMBERS, LOCAL));
+
+		interest.update(new PartyInterest(3, new long[0], new int[0]), LOCAL);
+		interest.clear();
+		assertEquals(StateDigest.ALL_SECTIONS, interest.getSections(MEMBERS, LOCAL));
+	}
+}